@@ -0,0 +1,29 @@
+-- Switches orders, order_items, products and users from AUTO_INCREMENT ids to
+-- Hibernate pooled sequences (allocationSize = 50), so inserts can be batched.
+--
+-- MySQL has no native sequences, so Hibernate emulates each one with a
+-- single-row table holding the next value. Each table is seeded well above the
+-- current MAX(id) so new ids can never collide with existing rows.
+--
+-- Run once against an existing database, before starting the new build:
+--   mysql -u root heshima_studio < heshima_studio_id_sequences.sql
+
+CREATE TABLE IF NOT EXISTS `orders_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO `orders_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 100 FROM `orders`
+WHERE NOT EXISTS (SELECT 1 FROM `orders_seq`);
+
+CREATE TABLE IF NOT EXISTS `order_items_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO `order_items_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 100 FROM `order_items`
+WHERE NOT EXISTS (SELECT 1 FROM `order_items_seq`);
+
+CREATE TABLE IF NOT EXISTS `products_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO `products_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 100 FROM `products`
+WHERE NOT EXISTS (SELECT 1 FROM `products_seq`);
+
+CREATE TABLE IF NOT EXISTS `users_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO `users_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 100 FROM `users`
+WHERE NOT EXISTS (SELECT 1 FROM `users_seq`);
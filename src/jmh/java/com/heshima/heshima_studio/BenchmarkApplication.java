@@ -0,0 +1,39 @@
+package com.heshima.heshima_studio;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the real application against an in-memory H2 database for the JMH
+ * benchmarks that need repositories, services or security beans.
+ *
+ * - DataInitializer runs as usual, so the admin user and the three default
+ *   products are there.
+ * - Hibernate statistics and SQL logging are off so they don't skew timings.
+ * - The web server binds to a random port; nothing calls it.
+ */
+
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(HeshimaStudioApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false"
+                )
+                .run();
+    }
+}
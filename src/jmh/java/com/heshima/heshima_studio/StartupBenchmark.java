@@ -0,0 +1,84 @@
+package com.heshima.heshima_studio;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to boot the whole application against a database that already has the
+ * schema, which is what every restart and deploy does.
+ *
+ * - update: the old setup, Flyway off and spring.jpa.hibernate.ddl-auto=update,
+ *   so Hibernate reads the metadata of every table, column and sequence and
+ *   diffs it against the entities.
+ * - validate: the new setup, Flyway checks its history table (nothing to apply)
+ *   and Hibernate only validates the mapped tables.
+ *
+ * The schema is created once per trial with the real migrations, on H2 in MySQL
+ * mode with the MySQL dialect. H2 answers metadata queries in-process, so the gap
+ * here is a floor: against MySQL over the network each metadata round trip costs more.
+ * Closing the context is not timed.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 15)
+public class StartupBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"update", "validate"})
+    public String schemaMode;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void createSchema() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext boot() {
+        boolean validate = "validate".equals(schemaMode);
+        context = new SpringApplicationBuilder(HeshimaStudioApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=" + URL,
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=" + (validate ? "validate" : "update"),
+                        "spring.flyway.enabled=" + validate,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false"
+                )
+                .run();
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,90 @@
+package com.heshima.heshima_studio.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heshima.heshima_studio.controller.dto.InquiryItemResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.ProductResponse;
+import com.heshima.heshima_studio.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies the API writes most.
+ *
+ * - inquiryResponse: one admin inquiry with three items.
+ * - productResponses: the catalog as ProductResponse DTOs.
+ * - productEntities: the catalog as Product entities, which is what
+ *   ProductController serializes when the pre-serialized cache is turned off.
+ *
+ * The ObjectMapper is configured like Spring Boot's (JSR-310 module, ISO dates).
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private InquiryResponse inquiry;
+    private List<ProductResponse> productResponses;
+    private List<Product> productEntities;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        inquiry = new InquiryResponse(
+                42L,
+                "Client",
+                "client@example.com",
+                "Looking for a full rebrand and a new site.",
+                LocalDateTime.of(2025, 11, 9, 12, 0),
+                List.of(
+                        new InquiryItemResponse(1L, "Branding", 1, new BigDecimal("750.00")),
+                        new InquiryItemResponse(2L, "Web Design", 1, new BigDecimal("1200.00")),
+                        new InquiryItemResponse(3L, "UX / UI", 2, new BigDecimal("1900.00"))
+                )
+        );
+
+        productResponses = List.of(
+                new ProductResponse(1L, "Branding", "Visual identity, logo, and brand guideline support.", new BigDecimal("750.00")),
+                new ProductResponse(2L, "Web Design", "Responsive site that matches Heshima Studio aesthetic.", new BigDecimal("1200.00")),
+                new ProductResponse(3L, "UX / UI", "Interface design for web/app dashboards.", new BigDecimal("950.00"))
+        );
+
+        productEntities = List.of(
+                new Product("Branding", "Visual identity, logo, and brand guideline support.", new BigDecimal("750.00")),
+                new Product("Web Design", "Responsive site that matches Heshima Studio aesthetic.", new BigDecimal("1200.00")),
+                new Product("UX / UI", "Interface design for web/app dashboards.", new BigDecimal("950.00"))
+        );
+    }
+
+    @Benchmark
+    public byte[] inquiryResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(inquiry);
+    }
+
+    @Benchmark
+    public byte[] productResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(productResponses);
+    }
+
+    @Benchmark
+    public byte[] productEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(productEntities);
+    }
+}
@@ -0,0 +1,62 @@
+package com.heshima.heshima_studio.security;
+
+import com.heshima.heshima_studio.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What an uncached HTTP Basic request costs: load the admin from H2 through
+ * CustomUserDetailsService, then check the password with BCrypt.
+ *
+ * - loadUserByUsername: the repository + role lookup on its own.
+ * - loadAndCheckPassword: lookup plus BCrypt, i.e. a full credential check.
+ *   This is the number AuthenticationCache and TokenService exist to avoid.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserDetailsBenchmark {
+
+    private static final String ADMIN_EMAIL = "admin@heshima.studio";
+    private static final String ADMIN_PASSWORD = "password123";
+
+    private ConfigurableApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+    private PasswordEncoder passwordEncoder;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(ADMIN_EMAIL);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean loadAndCheckPassword() {
+        UserDetails user = userDetailsService.loadUserByUsername(ADMIN_EMAIL);
+        return passwordEncoder.matches(ADMIN_PASSWORD, user.getPassword());
+    }
+}
@@ -0,0 +1,67 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.BenchmarkApplication;
+import com.heshima.heshima_studio.controller.CatalogJsonCache;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public catalog reads against the seeded H2 database.
+ *
+ * - repository: ProductRepository.findByIsActiveTrue, a real query every time.
+ * - cachedService: ProductService.getAllActiveProducts through ProductCatalogCache.
+ * - preserializedJson: CatalogJsonCache.current(), what GET /api/products writes.
+ *
+ * The gap between the first and the last two is what the catalog caches buy us.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogReadBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductService productService;
+    private CatalogJsonCache catalogJsonCache;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        productRepository = context.getBean(ProductRepository.class);
+        productService = context.getBean(ProductService.class);
+        catalogJsonCache = context.getBean(CatalogJsonCache.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> repository() {
+        return productRepository.findByIsActiveTrue();
+    }
+
+    @Benchmark
+    public List<Product> cachedService() {
+        return productService.getAllActiveProducts();
+    }
+
+    @Benchmark
+    public byte[] preserializedJson() {
+        return catalogJsonCache.current().getJson();
+    }
+}
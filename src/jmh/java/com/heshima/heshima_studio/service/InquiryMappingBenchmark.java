@@ -0,0 +1,85 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderItem;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order -> InquiryResponse mapping, the step every admin read ends with.
+ *
+ * - single: one order, as on GET /api/inquiries/{id}.
+ * - page: a full admin page (InquiryService.MAX_PAGE_SIZE orders).
+ *
+ * itemsPerOrder covers a one-service inquiry and a larger multi-service one.
+ * No database is involved; the repositories are never called.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InquiryMappingBenchmark {
+
+    @Param({"1", "5"})
+    public int itemsPerOrder;
+
+    private InquiryServiceImpl service;
+    private Order order;
+    private List<Order> page;
+
+    @Setup
+    public void setUp() {
+        service = new InquiryServiceImpl(null, null, null, null, false);
+        List<Product> products = List.of(
+                new Product("Branding", "Brand identity package", new BigDecimal("750.00")),
+                new Product("Web Design", "Responsive site", new BigDecimal("1200.00")),
+                new Product("UX / UI", "Dashboards", new BigDecimal("950.00"))
+        );
+
+        order = order(0, products);
+        page = new ArrayList<>(InquiryService.MAX_PAGE_SIZE);
+        for (int i = 0; i < InquiryService.MAX_PAGE_SIZE; i++) {
+            page.add(order(i, products));
+        }
+    }
+
+    @Benchmark
+    public InquiryResponse single() {
+        return service.toInquiryResponse(order);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<InquiryResponse> page() {
+        return page.stream().map(service::toInquiryResponse).toList();
+    }
+
+    private Order order(int n, List<Product> products) {
+        Order order = new Order();
+        order.setCustomerName("Client " + n);
+        order.setCustomerEmail("client" + n + "@example.com");
+        order.setNotes("Looking for a full rebrand and a new site.");
+        order.setStatus(OrderStatus.NEW);
+        order.setCreatedAt(LocalDateTime.of(2025, 11, 9, 12, 0).plusMinutes(n));
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Product product = products.get(i % products.size());
+            order.addItem(new OrderItem(product, 1, product.getBasePrice()));
+        }
+        return order;
+    }
+}
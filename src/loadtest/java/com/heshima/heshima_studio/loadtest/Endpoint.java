@@ -0,0 +1,49 @@
+package com.heshima.heshima_studio.loadtest;
+
+/**
+ * The kinds of request the load test sends, with their default share of traffic.
+ *
+ * The default mix is roughly what the site sees: mostly catalog reads from the
+ * public pages, a steady trickle of inquiry posts, and an admin working through
+ * the dashboard. Override it with -Dloadtest.mix=catalog=60,inquiry=20,...
+ */
+
+enum Endpoint {
+    CATALOG("catalog", "GET /api/products", 50),
+    PRODUCT("product", "GET /api/products/{id}", 15),
+    INQUIRY("inquiry", "POST /api/inquiries", 15),
+    ADMIN_LIST("adminList", "GET /api/inquiries?limit=20", 10),
+    ADMIN_GET("adminGet", "GET /api/inquiries/{id}", 7),
+    ADMIN_DELETE("adminDelete", "DELETE /api/inquiries/{id}", 3);
+
+    private final String key;
+    private final String label;
+    private final int defaultWeight;
+
+    Endpoint(String key, String label, int defaultWeight) {
+        this.key = key;
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + key);
+    }
+}
@@ -0,0 +1,79 @@
+package com.heshima.heshima_studio.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status counts for one endpoint.
+ *
+ * Latencies are recorded in microseconds into an HdrHistogram Recorder, which
+ * many response threads can write to without locking. {@link #reset()} drops
+ * everything recorded so far (used at the end of warmup).
+ */
+
+final class EndpointStats {
+
+    // 1 µs .. 60 s at 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+
+    private final Endpoint endpoint;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @param status HTTP status code, or a short reason when no response came back
+     */
+    void record(long latencyMicros, String status, boolean error) {
+        recorder.recordValue(Math.min(Math.max(latencyMicros, 1), HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        recorder.reset();
+        statuses.clear();
+        errors.reset();
+    }
+
+    Map<String, Object> report(double seconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long count = histogram.getTotalCount();
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", Math.round(histogram.getMean()) / 1000.0);
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, counter) -> statusCounts.put(status, counter.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("endpoint", endpoint.label());
+        report.put("count", count);
+        report.put("errors", errors.sum());
+        report.put("throughputPerSecond", seconds > 0 ? Math.round(count / seconds * 10) / 10.0 : 0);
+        report.put("latencyMs", latency);
+        report.put("statuses", statusCounts);
+        return report;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,357 @@
+package com.heshima.heshima_studio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heshima.heshima_studio.HeshimaStudioApplication;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: boots the whole app on an embedded H2 database and
+ * drives mixed HTTP traffic at it through the real security and web stack.
+ *
+ * Run with:  ./mvnw -Ploadtest -DskipTests verify
+ * (settings are -Dloadtest.* properties, see LoadTestConfig)
+ *
+ * How it drives load:
+ * - Open model: requests are scheduled at a fixed rate whether or not earlier
+ *   ones have finished, like real visitors. A slow server does not slow the
+ *   generator down.
+ * - Latency is measured from when a request was *due*, not when it was sent, so
+ *   time spent waiting for a free slot (max-in-flight) counts against the server
+ *   instead of quietly disappearing (coordinated omission).
+ * - Endpoints are picked by weighted random with a fixed seed, so two runs send
+ *   the same sequence.
+ * - Admin calls use HTTP Basic as the seeded admin. Inquiry posts feed the ids
+ *   that admin get/delete work on.
+ *
+ * At the end a JSON report with p50/p90/p99/p999/max per endpoint is written
+ * (target/loadtest-report.json by default) and a summary table is printed.
+ * Numbers from H2 are for comparing builds with each other, not for predicting
+ * MySQL in production.
+ */
+
+public final class LoadTest {
+
+    private static final String ADMIN_EMAIL = "admin@heshima.studio";
+    private static final String ADMIN_PASSWORD = "password123";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final List<Long> productIds;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String adminAuthorization;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    // inquiries we created and haven't deleted yet: get reads the newest, delete takes the oldest
+    private final ConcurrentLinkedDeque<Long> inquiryIds = new ConcurrentLinkedDeque<>();
+    private final Semaphore inFlight;
+    private final Endpoint[] picks;
+
+    LoadTest(LoadTestConfig config, String baseUrl, List<Long> productIds, ExecutorService responseExecutor) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.productIds = productIds;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+        this.adminAuthorization = "Basic " + Base64.getEncoder()
+                .encodeToString((ADMIN_EMAIL + ":" + ADMIN_PASSWORD).getBytes(StandardCharsets.UTF_8));
+        this.inFlight = new Semaphore(config.maxInFlight);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        this.picks = weightedPicks(config.mix);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = startApplication()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> productIds = context.getBean(ProductRepository.class).findByIsActiveTrue().stream()
+                    .map(Product::getId)
+                    .toList();
+
+            ExecutorService responseExecutor = Executors.newFixedThreadPool(
+                    Math.max(4, Runtime.getRuntime().availableProcessors()));
+            try {
+                LoadTest loadTest = new LoadTest(config, "http://localhost:" + port, productIds, responseExecutor);
+                Map<String, Object> report = loadTest.run();
+                loadTest.writeReport(report);
+                printSummary(report);
+            } finally {
+                responseExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(HeshimaStudioApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.show-sql=false"
+                )
+                .run();
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        seedInquiries();
+
+        System.out.printf("Warming up for %ss at %d req/s...%n", config.warmup.toSeconds(), config.rate);
+        drive(config.warmup, new Random(config.randomSeed - 1));
+        awaitInFlight();
+        stats.values().forEach(EndpointStats::reset);
+
+        System.out.printf("Measuring for %ss at %d req/s...%n", config.duration.toSeconds(), config.rate);
+        long start = System.nanoTime();
+        drive(config.duration, new Random(config.randomSeed));
+        awaitInFlight();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return buildReport(seconds);
+    }
+
+    // fixed-rate schedule: request i is due at start + i * interval
+    private void drive(Duration duration, Random random) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            send(picks[random.nextInt(picks.length)], due, random);
+        }
+    }
+
+    private void send(Endpoint endpoint, long dueNanos, Random random) {
+        HttpRequest request;
+        try {
+            request = buildRequest(endpoint, random);
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    try {
+                        long latencyMicros = (System.nanoTime() - dueNanos) / 1000;
+                        if (failure != null) {
+                            stats.get(endpoint).record(latencyMicros, failure.getClass().getSimpleName(), true);
+                            return;
+                        }
+                        int status = response.statusCode();
+                        stats.get(endpoint).record(latencyMicros, String.valueOf(status), status >= 400);
+                        if (endpoint == Endpoint.INQUIRY && status == 201) {
+                            rememberInquiry(response.body());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, Random random) {
+        return switch (endpoint) {
+            case CATALOG -> get("/api/products").header("Accept-Encoding", "gzip").build();
+            case PRODUCT -> get("/api/products/" + productIds.get(random.nextInt(productIds.size()))).build();
+            case INQUIRY -> request("/api/inquiries")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(inquiryJson(random)))
+                    .build();
+            case ADMIN_LIST -> admin(get("/api/inquiries?limit=20")).build();
+            case ADMIN_GET -> admin(get("/api/inquiries/" + newestInquiryId())).build();
+            case ADMIN_DELETE -> admin(request("/api/inquiries/" + takeOldestInquiryId())).DELETE().build();
+        };
+    }
+
+    private void seedInquiries() {
+        System.out.printf("Creating %d inquiries for the admin endpoints...%n", config.seedInquiries);
+        Random random = new Random(config.randomSeed + 1);
+        for (int i = 0; i < config.seedInquiries; i++) {
+            try {
+                HttpResponse<byte[]> response = client.send(buildRequest(Endpoint.INQUIRY, random),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("Seeding inquiries failed with HTTP " + response.statusCode());
+                }
+                rememberInquiry(response.body());
+            } catch (IOException ex) {
+                throw new IllegalStateException("Seeding inquiries failed", ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        inFlight.acquire(config.maxInFlight);
+        inFlight.release(config.maxInFlight);
+    }
+
+    private String inquiryJson(Random random) {
+        int n = random.nextInt(1_000_000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Load Test " + n);
+        body.put("email", "load" + n + "@example.com");
+        body.put("message", "Generated by the load test.");
+        body.put("productId", productIds.get(random.nextInt(productIds.size())));
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void rememberInquiry(byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null && id.canConvertToLong()) {
+                inquiryIds.addLast(id.asLong());
+            }
+        } catch (IOException ignored) {
+            // counted as a 201 already; we just can't reuse its id
+        }
+    }
+
+    // when the pool runs dry these ids don't exist, and the 404s show up in the report
+    private long newestInquiryId() {
+        Long id = inquiryIds.peekLast();
+        return id != null ? id : Long.MAX_VALUE;
+    }
+
+    private long takeOldestInquiryId() {
+        Long id = inquiryIds.pollFirst();
+        return id != null ? id : Long.MAX_VALUE;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder admin(HttpRequest.Builder builder) {
+        return builder.header("Authorization", adminAuthorization);
+    }
+
+    private Map<String, Object> buildReport(double seconds) {
+        long total = 0;
+        long errors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Map<String, Object> endpointReport = entry.getValue().report(seconds);
+            long count = (Long) endpointReport.get("count");
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            errors += (Long) endpointReport.get("errors");
+            endpoints.put(entry.getKey().key(), endpointReport);
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", total);
+        totals.put("errors", errors);
+        totals.put("elapsedSeconds", Math.round(seconds * 100) / 100.0);
+        totals.put("throughputPerSecond", Math.round(total / seconds * 10) / 10.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("config", config.describe());
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        if (config.report.getParent() != null) {
+            Files.createDirectories(config.report.getParent());
+        }
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.report.toFile(), report);
+        System.out.println("Report written to " + config.report.toAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%n%-30s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        Map<String, Object> endpoints = (Map<String, Object>) report.get("endpoints");
+        for (Object value : endpoints.values()) {
+            Map<String, Object> endpoint = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMs");
+            System.out.printf("%-30s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.get("endpoint"), endpoint.get("count"), endpoint.get("errors"),
+                    latency.get("p50"), latency.get("p90"), latency.get("p99"),
+                    latency.get("p999"), latency.get("max"));
+        }
+        Map<String, Object> totals = (Map<String, Object>) report.get("totals");
+        System.out.printf("%nTotal: %s requests, %s errors, %s req/s%n",
+                totals.get("requests"), totals.get("errors"), totals.get("throughputPerSecond"));
+    }
+
+    // one slot per unit of weight, so picking is a single random index
+    private static Endpoint[] weightedPicks(Map<Endpoint, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Endpoint[] picks = new Endpoint[total];
+        int i = 0;
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                picks[i++] = entry.getKey();
+            }
+        }
+        return picks;
+    }
+}
@@ -0,0 +1,112 @@
+package com.heshima.heshima_studio.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from -Dloadtest.* system properties.
+ *
+ * - rate: requests per second across all endpoints (open model, see LoadTest).
+ * - warmup / duration: warmup results are thrown away, only duration is reported.
+ * - max-in-flight: cap on concurrent requests; when it is hit, new requests wait
+ *   and that wait shows up in their latency.
+ * - mix: weights per endpoint, e.g. catalog=50,inquiry=15 (see Endpoint).
+ * - seed-inquiries: inquiries created before the run so admin get/delete have targets.
+ * - report: where the JSON report is written.
+ */
+
+final class LoadTestConfig {
+
+    final int rate;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final int seedInquiries;
+    final long randomSeed;
+    final Map<Endpoint, Integer> mix;
+    final Path report;
+
+    private LoadTestConfig(int rate, Duration warmup, Duration duration, int maxInFlight, int seedInquiries,
+                           long randomSeed, Map<Endpoint, Integer> mix, Path report) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("loadtest.max-in-flight must be positive");
+        }
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.seedInquiries = seedInquiries;
+        this.randomSeed = randomSeed;
+        this.mix = mix;
+        this.report = report;
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.parseInt(property("rate", "200")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                DurationStyle.detectAndParse(property("duration", "30s")),
+                Integer.parseInt(property("max-in-flight", "256")),
+                Integer.parseInt(property("seed-inquiries", "200")),
+                Long.parseLong(property("random-seed", "42")),
+                parseMix(property("mix", "")),
+                Path.of(property("report", "target/loadtest-report.json"))
+        );
+    }
+
+    /**
+     * Starts from the default weights and overrides the ones listed.
+     * A weight of 0 switches an endpoint off.
+     */
+    static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, endpoint.defaultWeight());
+        }
+        if (!spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("loadtest.mix entries look like name=weight: " + part);
+                }
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("loadtest.mix weights cannot be negative: " + part);
+                }
+                mix.put(Endpoint.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no traffic");
+        }
+        return mix;
+    }
+
+    // written into the report so two runs are only compared like for like
+    Map<String, Object> describe() {
+        Map<String, Object> mixByKey = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> mixByKey.put(endpoint.key(), weight));
+
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("ratePerSecond", rate);
+        described.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        described.put("durationSeconds", duration.toMillis() / 1000.0);
+        described.put("maxInFlight", maxInFlight);
+        described.put("seedInquiries", seedInquiries);
+        described.put("randomSeed", randomSeed);
+        described.put("mix", mixByKey);
+        return described;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -96,9 +97,8 @@ public class DataInitializer implements CommandLineRunner {
                     new BigDecimal("950.00")
             );
 
-            productRepository.save(branding);
-            productRepository.save(webDesign);
-            productRepository.save(uxUi);
+            // one saveAll so the inserts go out as a single JDBC batch
+            productRepository.saveAll(List.of(branding, webDesign, uxUi));
 
             System.out.println("✅ Seeded default products/services.");
         } else {
@@ -0,0 +1,50 @@
+package com.heshima.heshima_studio.controller;
+
+import com.heshima.heshima_studio.controller.dto.LoginRequest;
+import com.heshima.heshima_studio.controller.dto.LoginResponse;
+import com.heshima.heshima_studio.security.TokenService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for token-based admin login.
+ *
+ * POST /api/auth/login checks the email + password once through the
+ * DaoAuthenticationProvider (UserRepository + BCrypt) and returns a short-lived
+ * signed token. After that, admin calls send the token as a Bearer header and
+ * never touch the database or BCrypt again until it expires.
+ *
+ * Bad credentials come back as 401 through GlobalExceptionHandler.
+ */
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+public class AuthController {
+
+    private final DaoAuthenticationProvider authenticationProvider;
+    private final TokenService tokenService;
+
+    public AuthController(DaoAuthenticationProvider authenticationProvider, TokenService tokenService) {
+        this.authenticationProvider = authenticationProvider;
+        this.tokenService = tokenService;
+    }
+
+    // POST /api/auth/login
+    @PostMapping("/login")
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+        if (request.getEmail() == null || request.getPassword() == null) {
+            throw new BadCredentialsException("Email and password are required");
+        }
+
+        Authentication authentication = authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getEmail(), request.getPassword()));
+
+        TokenService.IssuedToken issued = tokenService.issue(authentication);
+        return ResponseEntity.ok(new LoginResponse(issued.getToken(), issued.getExpiresAt()));
+    }
+}
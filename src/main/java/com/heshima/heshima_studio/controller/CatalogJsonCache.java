@@ -0,0 +1,126 @@
+package com.heshima.heshima_studio.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.service.ProductCatalogCache;
+import com.heshima.heshima_studio.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized JSON for GET /api/products.
+ *
+ * Even with the catalog cached in memory, Jackson would still turn the same
+ * product list into the same JSON on every request. This component does that
+ * once per catalog version instead, and keeps a gzip copy next to it, so
+ * ProductController can write the bytes straight to the response.
+ *
+ * The snapshot is rebuilt lazily: the first request that sees a new catalog
+ * version pays for serialization, everyone after it reuses the arrays. Its version
+ * is the content tag of the list it was serialized from, so ProductController can
+ * use it as the ETag of exactly these bytes.
+ *
+ * Turned on with heshima.catalog.preserialized (default true). When it is off,
+ * the controller falls back to returning the entity list for Jackson.
+ */
+
+@Component
+public class CatalogJsonCache {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+
+    public CatalogJsonCache(ProductService productService,
+                            ObjectMapper objectMapper,
+                            @Value("${heshima.catalog.preserialized:true}") boolean enabled) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the serialized catalog for the current version, rebuilding it if
+     * the catalog changed since the last call.
+     */
+    public Snapshot current() {
+        String version = productService.getCatalogVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version.equals(version)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.version.equals(version)) {
+                return current;
+            }
+            // tag the bytes with the hash of the list they were made from, not the version
+            // read above: an invalidation in between would pair one catalog's tag with another's body
+            List<Product> products = productService.getAllActiveProducts();
+            byte[] json = toJson(products);
+            current = new Snapshot(ProductCatalogCache.contentTag(products), json, gzip(json));
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize product catalog", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One catalog version as identity and gzip-encoded JSON.
+     * The arrays are never modified after construction.
+     */
+    public static final class Snapshot {
+        private final String version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Snapshot(String version, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.heshima.heshima_studio.controller;
 
 import com.heshima.heshima_studio.controller.dto.ApiError;
+import com.heshima.heshima_studio.service.IdempotencyKeyConflictException;
+import com.heshima.heshima_studio.service.IdempotencyKeyInProgressException;
+import com.heshima.heshima_studio.service.InvalidRequestException;
+import com.heshima.heshima_studio.service.InvalidStatusTransitionException;
+import com.heshima.heshima_studio.service.InquiryQueueFullException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -16,7 +24,8 @@ public class GlobalExceptionHandler {
      *
      * Usage in this app:
      * - InquiryService throws IllegalArgumentException when an order/inquiry
-     *   cannot be found or a product id is invalid.
+     *   cannot be found or a product id is invalid. Malformed requests throw
+     *   InvalidRequestException instead (400, below).
      *
      * Response:
      *  - HTTP 404 Not Found
@@ -41,6 +50,198 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    /**
+     * Handles InvalidRequestException: the request itself is wrong (malformed
+     * cursor or Idempotency-Key, empty date range, too many ids or items).
+     * It extends IllegalArgumentException, but this more specific handler wins.
+     *
+     * Response:
+     *  - HTTP 400 Bad Request
+     *  - Body is an ApiError saying what was wrong with the request.
+     *
+     * @param ex the InvalidRequestException that was thrown
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 400 status code
+     */
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequest(
+            InvalidRequestException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Handles a query parameter or path variable that can't be converted to its
+     * declared type, e.g. {@code status=foo} or {@code from=yesterday} on the admin
+     * inquiry filters. That is the client's mistake, so it gets the same 400 as
+     * InvalidRequestException instead of falling through to the 500 handler.
+     *
+     * Response:
+     *  - HTTP 400 Bad Request
+     *  - Body is an ApiError naming the parameter and the rejected value.
+     *
+     * @param ex the MethodArgumentTypeMismatchException thrown during argument binding
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 400 status code
+     */
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Handles failed logins from AuthController (wrong password, unknown user).
+     *
+     * Response:
+     *  - HTTP 401 Unauthorized
+     *  - Body is an ApiError; the message stays generic so it doesn't reveal
+     *    whether the email exists.
+     *
+     * @param ex the AuthenticationException that was thrown
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 401 status code
+     */
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthentication(
+            AuthenticationException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Unauthorized",
+                "Invalid email or password",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+    }
+
+    /**
+     * Handles backpressure from the async inquiry intake queue.
+     *
+     * Response:
+     *  - HTTP 429 Too Many Requests
+     *  - Retry-After header (seconds) so the form knows when to try again
+     *  - Body is an ApiError with the queue-full message.
+     *
+     * @param ex the InquiryQueueFullException thrown by InquiryIntakeQueue
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 429 status code
+     */
+
+    @ExceptionHandler(InquiryQueueFullException.class)
+    public ResponseEntity<ApiError> handleQueueFull(
+            InquiryQueueFullException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    /**
+     * Handles an Idempotency-Key that was reused with a different request body.
+     *
+     * Response:
+     *  - HTTP 422 Unprocessable Entity
+     *  - Body is an ApiError naming the key.
+     *
+     * @param ex the IdempotencyKeyConflictException thrown by IdempotencyIndex or InquiryIntakeQueue
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 422 status code
+     */
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ApiError> handleIdempotencyConflict(
+            IdempotencyKeyConflictException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Unprocessable Entity",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+    }
+
+    /**
+     * Handles a retry that arrived while the first request with its
+     * Idempotency-Key is still running and didn't finish within the wait.
+     *
+     * Response:
+     *  - HTTP 409 Conflict
+     *  - Body is an ApiError naming the key; retrying later replays the result.
+     *
+     * @param ex the IdempotencyKeyInProgressException thrown by IdempotencyIndex
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 409 status code
+     */
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ApiError> handleIdempotencyInProgress(
+            IdempotencyKeyInProgressException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * Handles a status change the workflow doesn't allow (e.g. CLOSED -> NEW).
+     *
+     * Response:
+     *  - HTTP 422 Unprocessable Entity
+     *  - Body is an ApiError naming both statuses.
+     *
+     * @param ex the InvalidStatusTransitionException thrown by InquiryService
+     * @param request the current HTTP request, used to capture the request path
+     * @return a ResponseEntity containing the ApiError and 422 status code
+     */
+
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<ApiError> handleInvalidStatusTransition(
+            InvalidStatusTransitionException ex,
+            HttpServletRequest request
+    ) {
+        ApiError body = new ApiError(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Unprocessable Entity",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+    }
+
 /**
  * Fallback handler for any other unhandled exceptions.
  *
@@ -5,6 +5,16 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
 
+/**
+ * Simple "is the app running" check for the frontend and quick manual checks.
+ *
+ * This only says the JVM is serving requests; it does not look at the database.
+ * Load balancers and Kubernetes should use the Actuator probes instead:
+ * - /actuator/health/liveness: restart me if this fails
+ * - /actuator/health/readiness: stop sending me traffic if this fails
+ *   (connection pool, DB ping latency, intake queue depth; see the health package)
+ */
+
 @RestController
 public class HealthController {
 
@@ -1,12 +1,28 @@
 package com.heshima.heshima_studio.controller;
 
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
 import com.heshima.heshima_studio.controller.dto.InquiryRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.InquirySearchResponse;
+import com.heshima.heshima_studio.controller.dto.InquirySubmissionResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeRequest;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.repository.OrderFilter;
+import com.heshima.heshima_studio.service.IdempotencyIndex;
+import com.heshima.heshima_studio.service.InquiryIntakeQueue;
+import com.heshima.heshima_studio.service.InquiryPurger;
 import com.heshima.heshima_studio.service.InquiryService;
+import com.heshima.heshima_studio.service.InquirySubmission;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,11 +36,23 @@ import java.util.List;
 @CrossOrigin(origins = "*") // allow frontend (different port) to call this API
 public class InquiryController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final InquiryService inquiryService;
+    private final InquiryIntakeQueue intakeQueue;
+    private final IdempotencyIndex idempotencyIndex;
+    private final InquiryPurger purger;
 
     // inject the service that contains the business logic
-    public InquiryController(InquiryService inquiryService) {
+    public InquiryController(InquiryService inquiryService,
+                             InquiryIntakeQueue intakeQueue,
+                             IdempotencyIndex idempotencyIndex,
+                             InquiryPurger purger) {
         this.inquiryService = inquiryService;
+        this.intakeQueue = intakeQueue;
+        this.idempotencyIndex = idempotencyIndex;
+        this.purger = purger;
     }
 
     /**
@@ -32,16 +60,58 @@ public class InquiryController {
      * Creates a new inquiry from the public form.
      * We accept a simple DTO (InquiryRequest) and return a DTO (InquiryResponse)
      * so the client gets a clean object back.
+     * If the request carries an "items" list, all of those services go on one
+     * inquiry; otherwise the single productId (or none) is used.
+     *
+     * With heshima.inquiry.intake.async on, the inquiry is queued instead and we
+     * answer 202 Accepted with a status URL (429 if the queue is full).
+     *
+     * An optional Idempotency-Key header makes the POST safe to retry: the same key
+     * returns the inquiry (or queued submission) created the first time, with
+     * Idempotent-Replayed: true, and nothing new is written. Reusing a key with a
+     * different body is a 422; on the queue, when the first use is no longer in
+     * memory, the writer catches it instead and the submission's status is FAILED.
      */
 
     @PostMapping
-    public ResponseEntity<InquiryResponse> createInquiry(@RequestBody InquiryRequest request) {
-        InquiryResponse saved = inquiryService.createInquiry(
-                request.getProductId(),
-                request.getName(),
-                request.getEmail(),
-                request.getMessage()
-        );
+    public ResponseEntity<?> createInquiry(
+            @RequestBody InquiryRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (intakeQueue.isEnabled()) {
+            InquirySubmission submission = intakeQueue.submit(request, idempotencyKey);
+            InquirySubmissionResponse body = toSubmissionResponse(submission);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create(body.getStatusUrl()))
+                    .body(body);
+        }
+
+        if (idempotencyKey != null) {
+            IdempotencyIndex.Result result = idempotencyIndex.execute(idempotencyKey, request,
+                    () -> inquiryService.createInquiry(request, idempotencyKey));
+            return ResponseEntity
+                    .created(URI.create("/api/inquiries/" + result.getResponse().getId()))
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.isReplayed()))
+                    .body(result.getResponse());
+        }
+
+        InquiryResponse saved;
+        if (request.getItems() != null) {
+            saved = inquiryService.createInquiry(
+                    request.getName(),
+                    request.getEmail(),
+                    request.getMessage(),
+                    request.getItems()
+            );
+        } else {
+            saved = inquiryService.createInquiry(
+                    request.getProductId(),
+                    request.getName(),
+                    request.getEmail(),
+                    request.getMessage()
+            );
+        }
 
         // return 201 Created with a Location header pointing to the new resource
         return ResponseEntity
@@ -49,6 +119,20 @@ public class InquiryController {
                 .body(saved);
     }
 
+    /**
+     * GET /api/inquiries/submissions/{submissionId}
+     * Public: lets the form check on a queued inquiry (QUEUED, SAVED or FAILED).
+     * 404 if the id is unknown or has aged out of the status table.
+     */
+
+    @GetMapping("/submissions/{submissionId}")
+    public ResponseEntity<InquirySubmissionResponse> getSubmission(@PathVariable String submissionId) {
+        return intakeQueue.getSubmission(submissionId)
+                .map(this::toSubmissionResponse)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * GET /api/inquiries
      * Returns all inquiries, usually for the admin dashboard.
@@ -60,6 +144,49 @@ public class InquiryController {
         return ResponseEntity.ok(inquiryService.getAllInquiries());
     }
 
+    /**
+     * GET /api/inquiries?limit=20&cursor=...
+     * Keyset-paged version of the admin list. Passing {@code limit} switches to
+     * paging; the response carries a {@code nextCursor} to send back as {@code cursor}
+     * for the following page. Page size is capped at InquiryService.MAX_PAGE_SIZE.
+     *
+     * Optional filters for triage views, combined with AND and run in the database:
+     * {@code status} (NEW, IN_PROGRESS, CLOSED), {@code email} (exact),
+     * {@code from} / {@code to} (ISO date-time, from inclusive, to exclusive) and
+     * {@code productId}. Send the same filters again with the cursor.
+     */
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<InquiryPageResponse> getInquiryPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long productId
+    ) {
+        OrderFilter filter = new OrderFilter(status, email, from, to, productId);
+        return ResponseEntity.ok(inquiryService.getInquiryPage(cursor, limit, filter));
+    }
+
+    /**
+     * GET /api/inquiries/search?q=...&page=0&size=20
+     * Full-text search for the admin dashboard over customer name, email, notes and
+     * product names, best match first. Served from an in-memory index, so the
+     * client no longer has to download every inquiry to search them.
+     * Page size is capped at InquiryService.MAX_PAGE_SIZE.
+     */
+
+    @GetMapping("/search")
+    public ResponseEntity<InquirySearchResponse> searchInquiries(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(inquiryService.searchInquiries(query, page, size));
+    }
+
     /**
      * GET /api/inquiries/{id}
      * Returns a single inquiry by id (also for admin).
@@ -73,9 +200,48 @@ public class InquiryController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * PATCH /api/inquiries/{id}/status
+     * Admin-only: moves one inquiry, e.g. {"expectedStatus":"NEW","status":"IN_PROGRESS"}.
+     * The change only applies if the inquiry is still in expectedStatus, so two
+     * admins triaging at once can't silently overwrite each other.
+     * 200 if it moved, 409 if it is in another status by now (the body says which),
+     * 404 if the id is unknown, 422 if the workflow doesn't allow the move.
+     */
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<StatusChangeResponse> changeStatus(
+            @PathVariable Long id,
+            @RequestBody StatusChangeRequest request
+    ) {
+        StatusChangeResponse result = inquiryService.changeStatus(
+                List.of(id), request.getExpectedStatus(), request.getStatus());
+        HttpStatus status = switch (result.getResults().get(0).getOutcome()) {
+            case UPDATED -> HttpStatus.OK;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case UNCHANGED, CONFLICT -> HttpStatus.CONFLICT;
+        };
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * PATCH /api/inquiries/status
+     * Admin-only bulk version: {"ids":[...],"expectedStatus":"NEW","status":"CLOSED"}.
+     * All ids are moved by a single UPDATE, up to InquiryService.MAX_STATUS_CHANGE_IDS.
+     * Always 200 (422 for a disallowed move); the body has one outcome per id,
+     * since some may have moved while others were already changed or don't exist.
+     */
+
+    @PatchMapping("/status")
+    public ResponseEntity<StatusChangeResponse> changeStatuses(@RequestBody StatusChangeRequest request) {
+        return ResponseEntity.ok(inquiryService.changeStatus(
+                request.getIds(), request.getExpectedStatus(), request.getStatus()));
+    }
+
     /**
      * DELETE /api/inquiries/{id}
-     * Admin-only: allows removing an inquiry from the system.
+     * Admin-only: allows removing an inquiry from the system
+     * (a soft delete when heshima.inquiry.soft-delete is on).
      * Returns 204 on success, 404 if the id is not found.
      */
 
@@ -84,4 +250,38 @@ public class InquiryController {
         inquiryService.deleteInquiry(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * DELETE /api/inquiries
+     * Admin-only bulk delete: {"ids":[...]}, up to InquiryService.MAX_DELETE_IDS.
+     * Runs as one set-based statement per table, not one delete per inquiry.
+     * With heshima.inquiry.soft-delete on, the inquiries are only tombstoned
+     * (hidden everywhere) until the next purge. Always 200 with the count deleted.
+     */
+
+    @DeleteMapping
+    public ResponseEntity<InquiryDeleteResponse> deleteInquiries(@RequestBody InquiryDeleteRequest request) {
+        return ResponseEntity.ok(inquiryService.deleteInquiries(request.getIds()));
+    }
+
+    /**
+     * DELETE /api/inquiries/deleted
+     * Admin-only: removes soft-deleted inquiries for good, in small chunks
+     * (see InquiryPurger). Returns how many were purged.
+     */
+
+    @DeleteMapping("/deleted")
+    public ResponseEntity<InquiryDeleteResponse> purgeDeletedInquiries() {
+        return ResponseEntity.ok(new InquiryDeleteResponse(purger.purgeDeleted(), false));
+    }
+
+    private InquirySubmissionResponse toSubmissionResponse(InquirySubmission submission) {
+        return new InquirySubmissionResponse(
+                submission.getId(),
+                submission.getStatus().name(),
+                submission.getInquiryId(),
+                submission.getError(),
+                "/api/inquiries/submissions/" + submission.getId()
+        );
+    }
 }
@@ -1,11 +1,17 @@
 package com.heshima.heshima_studio.controller;
 
 import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.service.ProductCatalogCache;
 import com.heshima.heshima_studio.service.ProductService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller that exposes product data for the frontend.
@@ -17,6 +23,20 @@ import java.util.List;
  * Base path:
  * - All endpoints in this controller are under /api/products.
  * - CORS is opened up so the React app (different port) can call these APIs.
+ *
+ * Conditional GET:
+ * - Responses carry a strong ETag built from the content (the catalog's or the single
+ *   product's, see ProductCatalogCache.contentTag), plus Last-Modified, so every
+ *   instance agrees on the tag for the same data.
+ * - A matching If-None-Match (or If-Modified-Since) gets a 304 from the in-memory
+ *   catalog cache, so revalidation rarely touches the database, and Jackson at most
+ *   once per catalog version (the snapshot below, which the next 200 reuses).
+ * - Cache-Control lets browsers and the CDN store the body but revalidate every time.
+ *
+ * Pre-serialized catalog:
+ * - With CatalogJsonCache enabled, the full list is written from bytes serialized once
+ *   per catalog version, gzip-encoded when the client accepts it. The gzip variant gets
+ *   its own ETag because a strong validator has to change with the content-coding.
  */
 
 @RestController
@@ -24,25 +44,96 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ProductController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
     private final ProductService productService;
+    private final CatalogJsonCache catalogJson;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogJsonCache catalogJson) {
         this.productService = productService;
+        this.catalogJson = catalogJson;
     }
 
     // GET /api/products
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllActiveProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<?> getAllProducts(
+            WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        if (!catalogJson.isEnabled()) {
+            if (request.checkNotModified(catalogETag(productService.getCatalogVersion(), false), lastModifiedMillis())) {
+                // 304 + headers are already set on the response
+                return null;
+            }
+            List<Product> products = productService.getAllActiveProducts();
+            return ResponseEntity.ok()
+                    .cacheControl(REVALIDATE)
+                    .body(products);
+        }
+
+        // validate against the snapshot that would be sent, so the ETag always matches the bytes;
+        // it is rebuilt at most once per catalog version
+        boolean gzip = acceptsGzip(acceptEncoding);
+        CatalogJsonCache.Snapshot snapshot = catalogJson.current();
+        if (request.checkNotModified(catalogETag(snapshot.getVersion(), gzip), lastModifiedMillis())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(REVALIDATE)
+                .eTag(catalogETag(snapshot.getVersion(), gzip))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
     }
 
     // GET /api/products/{id}
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productService.getProductById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest request) {
+        // the lookup is served from ProductCatalogCache, so revalidation still skips the database
+        Optional<Product> product = productService.getProductById(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(productETag(product.get()), lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(product.get());
+    }
+
+    private static String catalogETag(String version, boolean gzip) {
+        return "\"catalog-" + version + (gzip ? "-gzip" : "") + "\"";
     }
-}
 
+    // its own content, so it also changes when an inactive product (not in the catalog tag) is edited
+    private static String productETag(Product product) {
+        return "\"product-" + ProductCatalogCache.contentTag(List.of(product)) + "\"";
+    }
+
+    private long lastModifiedMillis() {
+        return productService.getCatalogLastModified().toEpochMilli();
+    }
+
+    // true unless the client didn't mention gzip or explicitly refused it with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
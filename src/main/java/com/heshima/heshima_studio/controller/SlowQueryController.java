@@ -0,0 +1,62 @@
+package com.heshima.heshima_studio.controller;
+
+import com.heshima.heshima_studio.controller.dto.SlowQueryResponse;
+import com.heshima.heshima_studio.jdbc.SlowQueryLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin view of the slowest SQL statements (see SlowQueryLog).
+ *
+ * GET /api/admin/slow-queries?limit=20 lists normalized statements ordered by
+ * their slowest single execution, with count and mean/total time next to it.
+ * DELETE clears the table, e.g. before a load test. ADMIN only (SecurityConfig).
+ */
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+public class SlowQueryController {
+
+    static final int MAX_LIMIT = 100;
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    // GET /api/admin/slow-queries
+    @GetMapping
+    public ResponseEntity<List<SlowQueryResponse>> getSlowest(@RequestParam(defaultValue = "20") int limit) {
+        int clamped = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SlowQueryResponse> slowest = slowQueryLog.slowest(clamped).stream()
+                .map(SlowQueryController::toResponse)
+                .toList();
+        return ResponseEntity.ok(slowest);
+    }
+
+    // DELETE /api/admin/slow-queries
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        slowQueryLog.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    private static SlowQueryResponse toResponse(SlowQueryLog.StatementStats stats) {
+        long count = stats.getCount();
+        return new SlowQueryResponse(
+                stats.getSql(),
+                count,
+                stats.getSlowCount(),
+                millis(stats.getMaxNanos()),
+                count > 0 ? millis(stats.getTotalNanos() / count) : 0,
+                millis(stats.getTotalNanos())
+        );
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
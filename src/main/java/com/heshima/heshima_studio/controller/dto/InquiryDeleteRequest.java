@@ -0,0 +1,31 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import java.util.List;
+
+/**
+ * Write-only payload for deleting many inquiries at once (admin spam cleanup).
+ *
+ * Fields:
+ * - ids: the inquiries to delete, at most InquiryService.MAX_DELETE_IDS.
+ */
+
+public class InquiryDeleteRequest {
+
+    private List<Long> ids;
+
+    public InquiryDeleteRequest() {
+
+    }
+
+    public InquiryDeleteRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,29 @@
+package com.heshima.heshima_studio.controller.dto;
+
+/**
+ * Read-only result of a bulk delete or a purge.
+ *
+ * Notes:
+ * - {@code deleted} counts the inquiries actually removed; unknown and
+ *   already-deleted ids are not counted.
+ * - {@code soft} is true when they were only tombstoned (heshima.inquiry.soft-delete)
+ *   and are still in the database until the next purge.
+ */
+
+public class InquiryDeleteResponse {
+    private int deleted;
+    private boolean soft;
+
+    public InquiryDeleteResponse(int deleted, boolean soft) {
+        this.deleted = deleted;
+        this.soft = soft;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public boolean isSoft() {
+        return soft;
+    }
+}
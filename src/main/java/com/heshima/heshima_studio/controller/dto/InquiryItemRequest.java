@@ -0,0 +1,44 @@
+package com.heshima.heshima_studio.controller.dto;
+
+/**
+ * Write-only line-item payload inside a multi-service {@link InquiryRequest}.
+ *
+ * Purpose:
+ * - Lets a client pick several services (and how many of each) in one submission
+ *   instead of posting one inquiry per service.
+ *
+ * Validation (handled by the service layer):
+ * - productId: must reference an existing Product.
+ * - quantity: optional, defaults to 1; must be >= 1 when sent.
+ */
+
+public class InquiryItemRequest {
+
+    private Long productId;
+    private Integer quantity;
+
+    public InquiryItemRequest() {
+
+    }
+
+    public InquiryItemRequest(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,46 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import java.util.List;
+
+/**
+ * Read-only payload for one page of inquiries in the admin dashboard.
+ *
+ * Purpose:
+ * - Lets the admin view walk through inquiries a page at a time instead of
+ *   pulling the whole orders table in a single response.
+ *
+ * Paging notes:
+ * - Pages are keyset-based on (createdAt, id), newest first, so every page costs
+ *   the same no matter how deep the admin scrolls.
+ * - {@code nextCursor} is an opaque token; the client passes it back as
+ *   {@code ?cursor=...} to get the next page. It is null on the last page.
+ * - {@code limit} echoes the page size the server actually applied (after clamping).
+ */
+
+public class InquiryPageResponse {
+    private List<InquiryResponse> items;
+    private String nextCursor;
+    private int limit;
+
+    public InquiryPageResponse(List<InquiryResponse> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public List<InquiryResponse> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
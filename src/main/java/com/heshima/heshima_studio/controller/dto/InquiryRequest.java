@@ -1,5 +1,7 @@
 package com.heshima.heshima_studio.controller.dto;
 
+import java.util.List;
+
 /**
  * Write-only request payload from the public Inquiry form.
  *
@@ -9,7 +11,9 @@ package com.heshima.heshima_studio.controller.dto;
  * exactly what the client can send.
  *
  *  * Validation (handled by service/controller layer or a validator):
- *  - productId: must reference an existing Product.
+ *  - productId: must reference an existing Product (single-service form).
+ *  - items: optional list of services for a multi-service inquiry; when present
+ *    it is used instead of productId.
  *  - name: required, non-blank.
  *  - email: required, valid email format.
  *  - message: optional but recommended; trimmed to store concise notes.
@@ -25,6 +29,7 @@ public class InquiryRequest {
     private String name;
     private String email;
     private String message;
+    private List<InquiryItemRequest> items;
 
     public InquiryRequest() {
 
@@ -60,4 +65,12 @@ public class InquiryRequest {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public List<InquiryItemRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InquiryItemRequest> items) {
+        this.items = items;
+    }
 }
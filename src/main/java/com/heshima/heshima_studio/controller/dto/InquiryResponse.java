@@ -1,5 +1,7 @@
 package com.heshima.heshima_studio.controller.dto;
 
+import com.heshima.heshima_studio.entity.OrderStatus;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,6 +19,7 @@ import java.util.List;
  * - {@code customerEmail}← Order.customerEmail
  * - {@code notes}        ← Order.notes
  * - {@code createdAt}    ← Order.createdAt
+ * - {@code status}       ← Order.status (null when built without one)
  * - {@code items}        ← Order.items mapped to {@link InquiryItemResponse}
  *
  * Serialization:
@@ -34,6 +37,7 @@ public class InquiryResponse {
     private String customerEmail;
     private String notes;
     private LocalDateTime createdAt;
+    private OrderStatus status;
     private List<InquiryItemResponse> items;
 
     public InquiryResponse(Long id,
@@ -42,11 +46,22 @@ public class InquiryResponse {
                            String notes,
                            LocalDateTime createdAt,
                            List<InquiryItemResponse> items) {
+        this(id, customerName, customerEmail, notes, createdAt, null, items);
+    }
+
+    public InquiryResponse(Long id,
+                           String customerName,
+                           String customerEmail,
+                           String notes,
+                           LocalDateTime createdAt,
+                           OrderStatus status,
+                           List<InquiryItemResponse> items) {
         this.id = id;
         this.customerName = customerName;
         this.customerEmail = customerEmail;
         this.notes = notes;
         this.createdAt = createdAt;
+        this.status = status;
         this.items = items;
     }
 
@@ -70,6 +85,10 @@ public class InquiryResponse {
         return createdAt;
     }
 
+    public OrderStatus getStatus() {
+        return status;
+    }
+
     public List<InquiryItemResponse> getItems() {
         return items;
     }
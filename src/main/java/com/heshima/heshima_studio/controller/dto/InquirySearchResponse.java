@@ -0,0 +1,53 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import java.util.List;
+
+/**
+ * Read-only payload for one page of inquiry search results in the admin dashboard.
+ *
+ * Notes:
+ * - {@code items} are ranked best match first (see InquirySearchIndex), not by date.
+ * - {@code total} is how many inquiries matched the whole query, across all pages.
+ * - {@code page} is zero-based; {@code size} echoes the page size the server
+ *   actually applied (after clamping).
+ */
+
+public class InquirySearchResponse {
+    private String query;
+    private List<InquiryResponse> items;
+    private int total;
+    private int page;
+    private int size;
+
+    public InquirySearchResponse(String query, List<InquiryResponse> items, int total, int page, int size) {
+        this.query = query;
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<InquiryResponse> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return (long) (page + 1) * size < total;
+    }
+}
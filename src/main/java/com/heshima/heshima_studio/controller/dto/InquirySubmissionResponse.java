@@ -0,0 +1,54 @@
+package com.heshima.heshima_studio.controller.dto;
+
+/**
+ * Read-only payload describing a queued public inquiry.
+ *
+ * Purpose:
+ * - Returned with 202 Accepted when the async intake queue is on, and by
+ *   GET /api/inquiries/submissions/{submissionId} while the client waits.
+ *
+ * Fields:
+ * - status: QUEUED, SAVED or FAILED.
+ * - inquiryId: the real inquiry id once SAVED, otherwise null.
+ * - error: a readable reason once FAILED, otherwise null.
+ * - statusUrl: where to poll for updates.
+ *
+ * Nothing the visitor typed is echoed back, so the status URL is safe to leave public.
+ */
+
+public class InquirySubmissionResponse {
+    private String submissionId;
+    private String status;
+    private Long inquiryId;
+    private String error;
+    private String statusUrl;
+
+    public InquirySubmissionResponse(String submissionId, String status, Long inquiryId,
+                                     String error, String statusUrl) {
+        this.submissionId = submissionId;
+        this.status = status;
+        this.inquiryId = inquiryId;
+        this.error = error;
+        this.statusUrl = statusUrl;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getInquiryId() {
+        return inquiryId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+}
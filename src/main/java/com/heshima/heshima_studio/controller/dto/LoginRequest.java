@@ -0,0 +1,39 @@
+package com.heshima.heshima_studio.controller.dto;
+
+/**
+ * Write-only request payload for the admin token login.
+ *
+ * Purpose:
+ * - Carries the admin's email + password to POST /api/auth/login once, in exchange
+ *   for a short-lived bearer token used on the following requests.
+ *
+ * Notes:
+ * - Default no-args constructor is required by Jackson for JSON deserialization.
+ * - The password is only used for the one BCrypt check and is never stored.
+ */
+
+public class LoginRequest {
+
+    private String email;
+    private String password;
+
+    public LoginRequest() {
+
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
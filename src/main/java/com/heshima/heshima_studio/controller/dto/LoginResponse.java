@@ -0,0 +1,34 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import java.time.Instant;
+
+/**
+ * Read-only response payload for a successful admin token login.
+ *
+ * Usage:
+ * - The client sends {@code Authorization: Bearer <token>} on admin requests
+ *   until {@code expiresAt}, then logs in again.
+ */
+
+public class LoginResponse {
+    private final String token;
+    private final String tokenType = "Bearer";
+    private final Instant expiresAt;
+
+    public LoginResponse(String token, Instant expiresAt) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
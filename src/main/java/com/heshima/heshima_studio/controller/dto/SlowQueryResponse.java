@@ -0,0 +1,53 @@
+package com.heshima.heshima_studio.controller.dto;
+
+/**
+ * Read-only row for GET /api/admin/slow-queries: timings for one normalized
+ * SQL statement since startup (or the last reset).
+ *
+ * - {@code sql}       normalized statement (literals and IN lists collapsed to ?)
+ * - {@code count}     executions
+ * - {@code slowCount} executions over the slow-query threshold
+ * - {@code maxMs} / {@code meanMs} / {@code totalMs} execution time in milliseconds
+ */
+
+public class SlowQueryResponse {
+    private String sql;
+    private long count;
+    private long slowCount;
+    private double maxMs;
+    private double meanMs;
+    private double totalMs;
+
+    public SlowQueryResponse(String sql, long count, long slowCount, double maxMs, double meanMs, double totalMs) {
+        this.sql = sql;
+        this.count = count;
+        this.slowCount = slowCount;
+        this.maxMs = maxMs;
+        this.meanMs = meanMs;
+        this.totalMs = totalMs;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+}
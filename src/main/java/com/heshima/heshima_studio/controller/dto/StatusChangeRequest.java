@@ -0,0 +1,57 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import com.heshima.heshima_studio.entity.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Write-only payload for moving inquiries to another status (admin triage).
+ *
+ * Fields:
+ * - expectedStatus: the status the inquiries must still be in; any inquiry that
+ *   has moved on since the admin looked at it is left alone and reported.
+ * - status: the status to move them to (see OrderStatus.canMoveTo).
+ * - ids: the inquiries to move; only used by the bulk endpoint, the single
+ *   endpoint takes the id from the path.
+ */
+
+public class StatusChangeRequest {
+
+    private List<Long> ids;
+    private OrderStatus expectedStatus;
+    private OrderStatus status;
+
+    public StatusChangeRequest() {
+
+    }
+
+    public StatusChangeRequest(List<Long> ids, OrderStatus expectedStatus, OrderStatus status) {
+        this.ids = ids;
+        this.expectedStatus = expectedStatus;
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public OrderStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(OrderStatus expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,67 @@
+package com.heshima.heshima_studio.controller.dto;
+
+import com.heshima.heshima_studio.entity.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Read-only result of a status change, one entry per requested inquiry id.
+ *
+ * Outcomes:
+ * - UPDATED: this request moved it; {@code status} is the new status.
+ * - UNCHANGED: it was already in the target status (e.g. another admin got there first).
+ * - CONFLICT: it is in some other status than expected; {@code status} says which.
+ * - NOT_FOUND: no inquiry with that id.
+ *
+ * {@code updated} counts the UPDATED entries.
+ */
+
+public class StatusChangeResponse {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    private int updated;
+    private List<Result> results;
+
+    public StatusChangeResponse(int updated, List<Result> results) {
+        this.updated = updated;
+        this.results = results;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public static class Result {
+        private Long id;
+        private Outcome outcome;
+        private OrderStatus status;
+
+        public Result(Long id, Outcome outcome, OrderStatus status) {
+            this.id = id;
+            this.outcome = outcome;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public OrderStatus getStatus() {
+            return status;
+        }
+    }
+}
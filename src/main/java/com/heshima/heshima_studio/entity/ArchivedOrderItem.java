@@ -0,0 +1,56 @@
+package com.heshima.heshima_studio.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * A line item of an {@link ArchivedOrder}, copied from "order_items" with the same id.
+ *
+ * order and product are plain ids rather than associations: the archive has no
+ * foreign keys, so products can change or go away without touching it.
+ */
+
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private BigDecimal finalPrice;
+
+    protected ArchivedOrderItem() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getFinalPrice() {
+        return finalPrice;
+    }
+}
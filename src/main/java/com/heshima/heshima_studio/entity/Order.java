@@ -1,6 +1,8 @@
 package com.heshima.heshima_studio.entity;
 
+import com.heshima.heshima_studio.service.OrderSearchListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,14 +18,53 @@ import java.util.List;
  *
  * This entity is persisted to the "orders" table and is also used to build
  * the InquiryResponse DTO for the admin dashboard.
+ *
+ * The (created_at, id) index backs the keyset-paged admin list, which always
+ * reads newest first.
+ *
+ * Ids come from a pooled sequence (50 per round-trip) rather than IDENTITY, so
+ * Hibernate knows the id before the INSERT and can batch inserts for an order
+ * and its items. On MySQL the sequence is emulated with the orders_seq table.
+ *
+ * submissionId is the UUID a queued inquiry got when it was accepted (see
+ * InquiryIntakeQueue). It is unique, so replaying the same submission from the
+ * local journal can never create a second order. Direct (synchronous) inquiries
+ * leave it null.
+ *
+ * idempotencyKey is the client's Idempotency-Key header, when it sent one. It is
+ * unique too, so a retried POST can never insert a second order, even after the
+ * in-memory IdempotencyIndex has forgotten the key.
+ *
+ * The schema itself is owned by the Flyway migrations in db/migration; the
+ * indexes listed here mirror them so the H2 test schema gets them too.
+ *
+ * Every committed write also updates the admin search index (see OrderSearchListener).
+ *
+ * version is the optimistic lock. Status changes don't load the entity: they run
+ * as one conditional UPDATE (OrderRepository.transitionStatus) that bumps version,
+ * so an entity loaded before that update fails on save instead of overwriting it.
+ * statusChangedAt is when the status last moved, set by that same UPDATE.
+ *
+ * deletedAt is the soft-delete tombstone (heshima.inquiry.soft-delete). Every
+ * JPA read filters tombstoned rows out via @SQLRestriction, so they are gone for
+ * the app until InquiryPurger deletes them for real. Native queries don't get
+ * that filter and have to add it themselves. A tombstone keeps its submissionId
+ * and idempotencyKey, so the dedupe lookups (native, unfiltered) still find it.
  */
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_customer_email_created_at", columnList = "customer_email, created_at"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at")
+})
+@SQLRestriction("deleted_at is null")
+@EntityListeners(OrderSearchListener.class)
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -42,6 +83,22 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "submission_id", length = 36, unique = true)
+    private String submissionId;
+
+    @Column(name = "idempotency_key", unique = true)
+    private String idempotencyKey;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -100,6 +157,34 @@ public class Order {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     public List<OrderItem> getItems() {
         return items;
     }
@@ -1,7 +1,19 @@
 package com.heshima.heshima_studio.entity;
 
+/**
+ * Where an inquiry is in the studio's triage workflow.
+ *
+ * NEW -> IN_PROGRESS -> CLOSED is the usual path. An inquiry can also be closed
+ * straight from NEW, put back to NEW from IN_PROGRESS, and reopened from CLOSED
+ * to IN_PROGRESS. A closed inquiry never goes back to NEW.
+ */
+
 public enum OrderStatus {
     NEW,
     IN_PROGRESS,
-    CLOSED
+    CLOSED;
+
+    public boolean canMoveTo(OrderStatus target) {
+        return target != null && target != this && !(this == CLOSED && target == NEW);
+    }
 }
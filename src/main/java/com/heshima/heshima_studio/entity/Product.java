@@ -1,5 +1,6 @@
 package com.heshima.heshima_studio.entity;
 
+import com.heshima.heshima_studio.service.ProductChangeListener;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -12,14 +13,19 @@ import java.math.BigDecimal;
  * - The React frontend calls /api/products and renders these as service cards.
  * - basePrice is stored as BigDecimal for safe currency handling.
  * - isActive allows me to “soft hide” a product without deleting it.
+ * - Every write goes through ProductChangeListener, which clears the catalog cache.
  */
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_is_active", columnList = "is_active")
+})
+@EntityListeners(ProductChangeListener.class)
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
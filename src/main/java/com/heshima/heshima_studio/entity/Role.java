@@ -1,5 +1,6 @@
 package com.heshima.heshima_studio.entity;
 
+import com.heshima.heshima_studio.security.CredentialChangeListener;
 import jakarta.persistence.*;
 
 /**
@@ -14,6 +15,7 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(CredentialChangeListener.class)
 public class Role {
 
     @Id
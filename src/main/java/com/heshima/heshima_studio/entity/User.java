@@ -1,5 +1,6 @@
 package com.heshima.heshima_studio.entity;
 
+import com.heshima.heshima_studio.security.CredentialChangeListener;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -12,14 +13,17 @@ import java.time.LocalDateTime;
  * - Each user is linked to a {@link Role} which feeds into Spring Security.
  * - Passwords are stored as hashes, not plain text.
  * - The DataInitializer creates a default admin user for the demo.
+ * - Any write clears the cached Basic-auth credentials (CredentialChangeListener).
  */
 
 @Entity
 @Table(name = "users")
+@EntityListeners(CredentialChangeListener.class)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,58 @@
+package com.heshima.heshima_studio.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+
+/**
+ * Base for our readiness checks: runs {@link #check()} at most once per TTL and
+ * hands every other probe the cached result.
+ *
+ * Load balancers and Kubernetes can probe every second from several places; the
+ * checks themselves touch the pool and the database, so without this the probes
+ * would add the very load they are supposed to detect.
+ *
+ * Only one thread recomputes at a time; the others get the previous result
+ * rather than piling up behind it.
+ */
+
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private final long ttlNanos;
+    private final Object refreshLock = new Object();
+
+    private volatile Health cached;
+    private volatile long checkedAtNanos;
+
+    protected CachedHealthIndicator(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        Health current = cached;
+        if (current != null && System.nanoTime() - checkedAtNanos < ttlNanos) {
+            return current;
+        }
+        synchronized (refreshLock) {
+            current = cached;
+            if (current != null && System.nanoTime() - checkedAtNanos < ttlNanos) {
+                return current;
+            }
+            try {
+                current = check();
+            } catch (Exception ex) {
+                current = Health.down(ex).build();
+            }
+            cached = current;
+            checkedAtNanos = System.nanoTime();
+            return current;
+        }
+    }
+
+    /**
+     * Does the actual check. Exceptions are reported as DOWN.
+     */
+    protected abstract Health check() throws Exception;
+}
@@ -0,0 +1,70 @@
+package com.heshima.heshima_studio.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Readiness: is the Hikari connection pool saturated?
+ *
+ * OUT_OF_SERVICE when at least max-usage of the pool is checked out AND more than
+ * max-waiting threads are queued for a connection. Either one alone is normal
+ * under load; both together mean new requests will sit waiting for a connection,
+ * so the load balancer should send them to another node.
+ *
+ * Reads the pool's own counters, so the check never takes a connection itself.
+ */
+
+@Component
+public class ConnectionPoolHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final double maxUsage;
+    private final int maxWaiting;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource,
+                                         @Value("${heshima.health.cache-ttl:1s}") Duration cacheTtl,
+                                         @Value("${heshima.health.pool.max-usage:0.9}") double maxUsage,
+                                         @Value("${heshima.health.pool.max-waiting:0}") int maxWaiting) {
+        super(cacheTtl);
+        this.dataSource = dataSource;
+        this.maxUsage = maxUsage;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    protected Health check() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return Health.unknown().withDetail("reason", "not a Hikari pool").build();
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // Hikari starts the pool on the first getConnection()
+            return Health.up().withDetail("reason", "pool not started yet").build();
+        }
+
+        int max = hikari.getMaximumPoolSize();
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        double usage = max > 0 ? (double) active / max : 0;
+
+        Health.Builder builder = usage >= maxUsage && waiting > maxWaiting
+                ? Health.status(Status.OUT_OF_SERVICE)
+                : Health.up();
+        return builder
+                .withDetail("active", active)
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("max", max)
+                .withDetail("waiting", waiting)
+                .withDetail("usage", Math.round(usage * 100) / 100.0)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.heshima.heshima_studio.health;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Readiness: can we reach the database, and how fast?
+ *
+ * Borrows a connection and runs the driver's validation query
+ * (Connection.isValid), timing the whole round trip:
+ * - slower than max-latency -> DOWN (MySQL is up but too slow to serve from)
+ * - no answer within timeout -> DOWN
+ * - any error -> DOWN
+ *
+ * The ping runs on its own thread so a probe never blocks longer than timeout,
+ * even when getConnection() is stuck waiting on an exhausted pool. If the last
+ * ping is still running, we report DOWN instead of starting another one.
+ */
+
+@Component
+public class DatabasePingHealthIndicator extends CachedHealthIndicator implements DisposableBean {
+
+    private final DataSource dataSource;
+    private final Duration maxLatency;
+    private final Duration timeout;
+    private final ExecutorService pinger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "health-db-ping");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CompletableFuture<Long> inFlight;
+
+    public DatabasePingHealthIndicator(DataSource dataSource,
+                                       @Value("${heshima.health.cache-ttl:1s}") Duration cacheTtl,
+                                       @Value("${heshima.health.db.max-latency:500ms}") Duration maxLatency,
+                                       @Value("${heshima.health.db.timeout:2s}") Duration timeout) {
+        super(cacheTtl);
+        this.dataSource = dataSource;
+        this.maxLatency = maxLatency;
+        this.timeout = timeout;
+    }
+
+    // called under CachedHealthIndicator's lock, so inFlight needs no extra guarding
+    @Override
+    protected Health check() throws InterruptedException {
+        if (inFlight != null && !inFlight.isDone()) {
+            return Health.down().withDetail("reason", "previous ping still running").build();
+        }
+        CompletableFuture<Long> ping = CompletableFuture.supplyAsync(this::ping, pinger);
+        inFlight = ping;
+
+        long latencyMillis;
+        try {
+            latencyMillis = ping.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return Health.down().withDetail("reason", "no answer within " + timeout.toMillis() + "ms").build();
+        } catch (ExecutionException ex) {
+            return Health.down(ex.getCause() instanceof Exception cause ? cause : ex).build();
+        }
+
+        Health.Builder builder = latencyMillis > maxLatency.toMillis()
+                ? Health.down().withDetail("reason", "slower than " + maxLatency.toMillis() + "ms")
+                : Health.up();
+        return builder.withDetail("latencyMs", latencyMillis).build();
+    }
+
+    private long ping() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            int seconds = (int) Math.max(1, timeout.toSeconds());
+            if (!connection.isValid(seconds)) {
+                throw new IllegalStateException("connection failed validation");
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public void destroy() {
+        pinger.shutdownNow();
+    }
+}
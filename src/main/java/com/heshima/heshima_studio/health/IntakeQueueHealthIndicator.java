@@ -0,0 +1,51 @@
+package com.heshima.heshima_studio.health;
+
+import com.heshima.heshima_studio.service.InquiryIntakeQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Readiness: is the async inquiry queue backing up?
+ *
+ * OUT_OF_SERVICE once the queue is max-fill full (default 80%). At that point
+ * the writer isn't keeping up and this node is close to answering 429, so it is
+ * better to steer new traffic elsewhere while it drains.
+ *
+ * Always UP when the queued intake is off.
+ */
+
+@Component
+public class IntakeQueueHealthIndicator extends CachedHealthIndicator {
+
+    private final InquiryIntakeQueue intakeQueue;
+    private final double maxFill;
+
+    public IntakeQueueHealthIndicator(InquiryIntakeQueue intakeQueue,
+                                      @Value("${heshima.health.cache-ttl:1s}") Duration cacheTtl,
+                                      @Value("${heshima.health.intake.max-fill:0.8}") double maxFill) {
+        super(cacheTtl);
+        this.intakeQueue = intakeQueue;
+        this.maxFill = maxFill;
+    }
+
+    @Override
+    protected Health check() {
+        if (!intakeQueue.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        int queued = intakeQueue.getQueuedCount();
+        int capacity = intakeQueue.getCapacity();
+        double fill = capacity > 0 ? (double) queued / capacity : 0;
+
+        Health.Builder builder = fill >= maxFill ? Health.status(Status.OUT_OF_SERVICE) : Health.up();
+        return builder
+                .withDetail("queued", queued)
+                .withDetail("capacity", capacity)
+                .withDetail("fill", Math.round(fill * 100) / 100.0)
+                .build();
+    }
+}
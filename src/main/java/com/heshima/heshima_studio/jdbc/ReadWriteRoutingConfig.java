@@ -0,0 +1,98 @@
+package com.heshima.heshima_studio.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split: read-only transactions go to a replica, everything else to
+ * the primary. Only active with heshima.datasource.replica.enabled=true; without
+ * it Spring Boot's single DataSource is used as before.
+ *
+ * How a connection is routed:
+ * - The application's DataSource is a LazyConnectionDataSourceProxy over the
+ *   primary pool. It hands out a placeholder connection and only takes a real one
+ *   on the first statement.
+ * - @Transactional(readOnly = true) calls setReadOnly(true) on that placeholder
+ *   first, so the proxy takes the real connection from its read-only DataSource
+ *   (ReplicaDataSource) instead.
+ * - ReplicaDataSource falls back to the primary while ReplicaMonitor reports the
+ *   replica down or lagging, or when a replica connection can't be opened.
+ *
+ * Spring Data repository reads are read-only transactions by default, so they
+ * follow the same rule when called outside a service transaction. Anything
+ * inside a read-write transaction stays on the primary, including reads.
+ *
+ * spring.jpa.open-in-view must be false. With it on, each web request holds one
+ * EntityManager, and Hibernate keeps the connection it first acquires until the
+ * request ends, so a write after a read-only call in the same request would run
+ * on the replica connection. The config refuses to start rather than route that way.
+ *
+ * Reads from the replica can be up to max-lag behind, so an admin may see a new
+ * inquiry a moment after it was created.
+ *
+ * Primary pool: spring.datasource.* / spring.datasource.hikari.*
+ * Replica pool: heshima.datasource.replica.url / username / password and
+ * heshima.datasource.replica.hikari.*
+ */
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "heshima.datasource.replica.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    public ReadWriteRoutingConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("heshima.datasource.replica.enabled needs spring.jpa.open-in-view=false: "
+                    + "a request-scoped EntityManager keeps its first connection, so later writes would hit the replica");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("heshima.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${heshima.datasource.replica.url}") String url,
+                                              @Value("${heshima.datasource.replica.username:}") String username,
+                                              @Value("${heshima.datasource.replica.password:}") String password) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("heshima-replica-pool");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaMonitor replicaMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                         @Value("${heshima.datasource.replica.lag-query:}") String lagQuery,
+                                         @Value("${heshima.datasource.replica.max-lag:5s}") Duration maxLag,
+                                         @Value("${heshima.datasource.replica.check-interval:5s}") Duration checkInterval) {
+        return new ReplicaMonitor(replica, lagQuery, maxLag, checkInterval);
+    }
+
+    // named "dataSource" so it replaces Boot's and is the one TimingDataSource wraps
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaMonitor replicaMonitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaDataSource(replica, primary, replicaMonitor));
+        return routing;
+    }
+}
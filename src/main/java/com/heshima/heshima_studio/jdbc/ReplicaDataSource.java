@@ -0,0 +1,52 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Where read-only transactions get their connection: the replica while
+ * ReplicaMonitor says it's healthy, otherwise the primary.
+ *
+ * If taking a replica connection fails, the replica is marked unavailable and the
+ * same request gets a primary connection instead, so a replica outage costs at
+ * most one connection-timeout and never fails the read.
+ */
+
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaMonitor monitor;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary, ReplicaMonitor monitor) {
+        super(replica);
+        this.primary = primary;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (monitor.isAvailable()) {
+            try {
+                return obtainTargetDataSource().getConnection();
+            } catch (SQLException ex) {
+                monitor.markUnavailable(ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (monitor.isAvailable()) {
+            try {
+                return obtainTargetDataSource().getConnection(username, password);
+            } catch (SQLException ex) {
+                monitor.markUnavailable(ex);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,151 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether read-only transactions may use the replica right now.
+ *
+ * Every check-interval it borrows a replica connection and:
+ * - with no lag-query: just validates the connection;
+ * - with a lag-query: reads replication lag in seconds and compares it to max-lag.
+ *   "SHOW REPLICA STATUS" works as is (Seconds_Behind_Source is picked out);
+ *   any other query should return the lag as its first column. No row or a NULL
+ *   lag (replication stopped) counts as unavailable.
+ *
+ * ReplicaDataSource also marks the replica unavailable the moment a connection
+ * attempt fails, so reads switch to the primary without waiting for the next
+ * check. The next successful check switches them back.
+ */
+
+public class ReplicaMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // start on the primary until the first check says the replica is fine
+    private volatile boolean available;
+    private volatile Long lagSeconds;
+
+    public ReplicaMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.checkInterval = checkInterval;
+    }
+
+    public void start() {
+        check();
+        long millis = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Last lag we read, or null if there is no lag-query or the last check failed.
+     */
+    public Long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Called when a replica connection fails; reads go to the primary until the
+     * next successful check.
+     */
+    void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Replica connection failed, sending reads to the primary: {}", cause.getMessage());
+        }
+        available = false;
+        lagSeconds = null;
+    }
+
+    /**
+     * Runs one check now.
+     *
+     * @return whether the replica is usable
+     */
+    boolean check() {
+        boolean ok;
+        Long lag = null;
+        String reason = null;
+        try (Connection connection = replica.getConnection()) {
+            if (lagQuery.isEmpty()) {
+                ok = connection.isValid((int) Math.max(1, checkInterval.toSeconds()));
+                reason = ok ? null : "connection failed validation";
+            } else {
+                lag = readLag(connection);
+                ok = lag != null && lag <= maxLagSeconds;
+                reason = lag == null ? "replication is not running" : "lag " + lag + "s > " + maxLagSeconds + "s";
+            }
+        } catch (SQLException | RuntimeException ex) {
+            ok = false;
+            reason = ex.getMessage();
+        }
+
+        if (ok != available) {
+            if (ok) {
+                log.info("Replica is available again{}", lag != null ? " (lag " + lag + "s)" : "");
+            } else {
+                log.warn("Replica unavailable, sending reads to the primary: {}", reason);
+            }
+        }
+        lagSeconds = lag;
+        available = ok;
+        return ok;
+    }
+
+    private Long readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                return readLag(rs);
+            }
+        }
+    }
+
+    static Long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        ResultSetMetaData metaData = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                column = i;
+                break;
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
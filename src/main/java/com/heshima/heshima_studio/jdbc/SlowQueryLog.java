@@ -0,0 +1,195 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Slow-query log and per-statement timing table, fed by TimingDataSource.
+ *
+ * Replaces spring.jpa.show-sql, which printed every statement to stdout on the
+ * request thread. Now:
+ * - statements slower than threshold are logged (with their time);
+ * - sample-rate of the rest are logged too, so there is still a feel for normal
+ *   traffic (0 = none, 1 = everything);
+ * - everything is logged through the "heshima.sql" logger, which logback-spring.xml
+ *   sends through an AsyncAppender, so the request thread only enqueues the line.
+ *
+ * Every execution also lands in a table keyed by normalized SQL (literals and IN
+ * lists collapsed), which is what GET /api/admin/slow-queries reads. The table
+ * holds at most max-statements distinct statements; Hibernate generates a fixed
+ * set, so in practice it never fills up.
+ *
+ * SQL is logged with its ? placeholders only; bind values (customer names,
+ * emails) are never logged.
+ */
+
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("heshima.sql");
+
+    // raw SQL -> normalized; Hibernate reuses the same strings, so this stays small
+    private static final int NORMALIZED_CACHE_MAX = 2000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxStatements;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+
+    public SlowQueryLog(@Value("${heshima.sql.slow-query.enabled:true}") boolean enabled,
+                        @Value("${heshima.sql.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${heshima.sql.slow-query.sample-rate:0}") double sampleRate,
+                        @Value("${heshima.sql.slow-query.max-statements:500}") int maxStatements) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("heshima.sql.slow-query.sample-rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxStatements = maxStatements;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one statement execution.
+     *
+     * @return true if it was logged (slow or sampled)
+     */
+    boolean record(String sql, long elapsedNanos, boolean failed) {
+        boolean slow = elapsedNanos >= thresholdNanos;
+        String key = normalize(sql);
+
+        StatementStats stats = statements.get(key);
+        if (stats == null && statements.size() < maxStatements) {
+            stats = statements.computeIfAbsent(key, StatementStats::new);
+        }
+        if (stats != null) {
+            stats.add(elapsedNanos, slow);
+        } else {
+            untracked.increment();
+        }
+
+        if (slow) {
+            log.warn("slow query {}ms{}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failed ? " (failed)" : "", sql);
+            return true;
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("query {}ms{}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failed ? " (failed)" : "", sql);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The {@code limit} statements with the highest single execution time.
+     */
+    public List<StatementStats> slowest(int limit) {
+        return statements.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::getMaxNanos).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Executions that weren't tracked because the table was full.
+     */
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    public void reset() {
+        statements.clear();
+        untracked.reset();
+    }
+
+    String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = normalized.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String result = normalizeSql(sql);
+        if (normalized.size() < NORMALIZED_CACHE_MAX) {
+            normalized.put(sql, result);
+        }
+        return result;
+    }
+
+    static String normalizeSql(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("in (?...)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+
+    /**
+     * Running totals for one normalized statement.
+     */
+    public static final class StatementStats {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(long elapsedNanos, boolean slow) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (slow) {
+                slowCount.increment();
+            }
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getSlowCount() {
+            return slowCount.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+    }
+}
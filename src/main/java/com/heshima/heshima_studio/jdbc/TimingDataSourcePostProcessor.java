@@ -0,0 +1,45 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a TimingDataSource once it is fully
+ * configured, so JPA, repositories and everything else get timed statements
+ * without any of them knowing.
+ *
+ * Only the bean named "dataSource" is wrapped. With the read replica on, the
+ * primary and replica pools are beans too, but every statement already passes
+ * through the routing "dataSource" in front of them, so wrapping them as well
+ * would time each statement twice.
+ *
+ * SlowQueryLog is looked up lazily: a BeanPostProcessor is created before
+ * ordinary beans, and pulling the log in eagerly would skip its own processing.
+ */
+
+@Component
+public class TimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public TimingDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (APPLICATION_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof TimingDataSource)) {
+            SlowQueryLog log = slowQueryLog.getIfAvailable();
+            if (log != null && log.isEnabled()) {
+                return new TimingDataSource(dataSource, log);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,119 @@
+package com.heshima.heshima_studio.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service timings and repository row counts for the Prometheus endpoint.
+ *
+ * Spring Boot already measures the other layers:
+ * - http.server.requests: every controller call, tagged by uri/method/status/outcome.
+ * - spring.data.repository.invocations: every repository method, tagged by
+ *   repository/method/state/exception.
+ *
+ * This aspect fills the two gaps:
+ * - heshima.service.calls: a timer around every public method of our @Service
+ *   beans, tagged service/method/outcome/exception.
+ * - heshima.repository.rows: how many rows each repository method returned
+ *   (collections, pages, Optionals and single entities; counts and booleans are
+ *   not rows and are skipped). A findAll that suddenly returns 10k rows shows up
+ *   here before it shows up as latency.
+ *
+ * Histogram buckets for all of these are switched on in application.properties.
+ */
+
+@Aspect
+@Component
+public class CallMetricsAspect {
+
+    public static final String SERVICE_CALLS = "heshima.service.calls";
+    public static final String REPOSITORY_ROWS = "heshima.repository.rows";
+
+    private static final String REPOSITORY_PACKAGE = "com.heshima.heshima_studio.repository";
+
+    private final MeterRegistry registry;
+
+    public CallMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.heshima.heshima_studio..*) && @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_CALLS)
+                    .description("Time spent in service methods")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", "none".equals(exception) ? "SUCCESS" : "ERROR")
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    @AfterReturning(pointcut = "this(org.springframework.data.repository.Repository)", returning = "result")
+    public void countRepositoryRows(JoinPoint joinPoint, Object result) {
+        long rows = rows(result);
+        if (rows < 0) {
+            return;
+        }
+        DistributionSummary.builder(REPOSITORY_ROWS)
+                .description("Rows returned by repository methods")
+                .baseUnit("rows")
+                .tag("repository", repositoryName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows);
+    }
+
+    // -1 = the result isn't a set of rows (void, count, exists, streams)
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> || result instanceof Iterable<?>
+                || result instanceof Number || result instanceof Boolean
+                || result instanceof java.util.stream.BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    // the Spring Data proxy implements our interface plus framework ones; report ours
+    private static String repositoryName(JoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,57 @@
+package com.heshima.heshima_studio.repository;
+
+import com.heshima.heshima_studio.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the inquiry archive ({@link ArchivedOrder} and its items), used by
+ * the retention job to move old CLOSED inquiries out of the live tables.
+ *
+ * Everything that touches the live tables is native and set-based: one chunk of
+ * orders is picked, copied and (through OrderRepository) deleted with a fixed
+ * number of statements, without loading any entities.
+ */
+
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    // the next chunk of CLOSED, undeleted orders created before the cutoff, in
+    // (created_at, id) order after the keyset position of the previous chunk.
+    // Seeks idx_orders_status_created_at. FOR UPDATE keeps an admin from moving
+    // them back to another status while the chunk is being copied and deleted.
+    @Query(value = "select id as id, created_at as createdAt from orders "
+            + "where status = 'CLOSED' and deleted_at is null and created_at < :cutoff "
+            + "and (created_at > :afterCreatedAt or (created_at = :afterCreatedAt and id > :afterId)) "
+            + "order by created_at, id limit :limit for update",
+            nativeQuery = true)
+    List<Candidate> lockArchivable(@Param("cutoff") LocalDateTime cutoff,
+                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                   @Param("afterId") long afterId,
+                                   @Param("limit") int limit);
+
+    interface Candidate {
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    @Modifying
+    @Query(value = "insert into orders_archive "
+            + "(id, created_at, customer_email, customer_name, notes, status, status_changed_at, archived_at) "
+            + "select id, created_at, customer_email, customer_name, notes, status, status_changed_at, :archivedAt "
+            + "from orders where id in (:ids)",
+            nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "insert into order_items_archive (id, final_price, quantity, order_id, product_id) "
+            + "select id, final_price, quantity, order_id, product_id from order_items where order_id in (:ids)",
+            nativeQuery = true)
+    int copyItems(@Param("ids") Collection<Long> ids);
+}
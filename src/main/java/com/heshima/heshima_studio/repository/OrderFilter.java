@@ -0,0 +1,86 @@
+package com.heshima.heshima_studio.repository;
+
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.service.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Optional filters for the admin inquiry list (see OrderFilterRepository).
+ *
+ * Every field may be null, meaning "don't filter on this". createdFrom is
+ * inclusive and createdTo exclusive, so day or month ranges don't overlap.
+ * customerEmail is an exact match (case-insensitive on MySQL's default collation).
+ */
+
+public final class OrderFilter {
+
+    public static final OrderFilter NONE = new OrderFilter(null, null, null, null, null);
+
+    private final OrderStatus status;
+    private final String customerEmail;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final Long productId;
+
+    /**
+     * @throws InvalidRequestException if createdFrom is not before createdTo
+     */
+    public OrderFilter(OrderStatus status, String customerEmail, LocalDateTime createdFrom,
+                       LocalDateTime createdTo, Long productId) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidRequestException("Inquiry date range is empty: from " + createdFrom + " to " + createdTo);
+        }
+        this.status = status;
+        this.customerEmail = customerEmail == null || customerEmail.isBlank() ? null : customerEmail.trim();
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+        this.productId = productId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public boolean isEmpty() {
+        return status == null && customerEmail == null && createdFrom == null
+                && createdTo == null && productId == null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof OrderFilter that)) {
+            return false;
+        }
+        return status == that.status
+                && Objects.equals(customerEmail, that.customerEmail)
+                && Objects.equals(createdFrom, that.createdFrom)
+                && Objects.equals(createdTo, that.createdTo)
+                && Objects.equals(productId, that.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, customerEmail, createdFrom, createdTo, productId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.heshima.heshima_studio.repository;
+
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom fragment of OrderRepository for the filtered admin list.
+ *
+ * Spring Data can't derive one query for "any combination of these filters"
+ * without either a method per combination or (:x is null or ...) conditions,
+ * which stop MySQL from using an index. OrderFilterRepositoryImpl writes the
+ * JPQL with only the filters that are set.
+ */
+
+public interface OrderFilterRepository {
+
+    /**
+     * Ids of the orders matching {@code filter}, newest first (createdAt, then id).
+     *
+     * @param afterCreatedAt keyset cursor: only orders strictly older than
+     *                       (afterCreatedAt, afterId); null for the first page
+     * @param afterId        id half of the cursor; ignored when afterCreatedAt is null
+     */
+    List<Long> findFilteredIds(OrderFilter filter, LocalDateTime afterCreatedAt, Long afterId, Limit limit);
+}
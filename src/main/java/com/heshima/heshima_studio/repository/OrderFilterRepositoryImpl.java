@@ -0,0 +1,77 @@
+package com.heshima.heshima_studio.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the filtered admin id query: one SELECT with a plain equality or range
+ * condition per filter that is set, the keyset condition, ORDER BY createdAt
+ * DESC, id DESC and a LIMIT. Each filter has an index that starts with its
+ * column and continues with created_at (see V2/V3 migrations), so the database
+ * seeks to the matching rows already in page order and stops after one page:
+ * - status        -> idx_orders_status_created_at
+ * - customerEmail -> idx_orders_customer_email_created_at
+ * - created range -> idx_orders_created_at_id
+ * - productId     -> idx_order_items_product_order (the IN subquery)
+ */
+
+class OrderFilterRepositoryImpl implements OrderFilterRepository {
+
+    private final EntityManager entityManager;
+
+    OrderFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findFilteredIds(OrderFilter filter, LocalDateTime afterCreatedAt, Long afterId, Limit limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getStatus() != null) {
+            conditions.add("o.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getCustomerEmail() != null) {
+            conditions.add("o.customerEmail = :customerEmail");
+            parameters.put("customerEmail", filter.getCustomerEmail());
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add("o.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add("o.createdAt < :createdTo");
+            parameters.put("createdTo", filter.getCreatedTo());
+        }
+        if (filter.getProductId() != null) {
+            conditions.add("o.id in (select i.order.id from OrderItem i where i.product.id = :productId)");
+            parameters.put("productId", filter.getProductId());
+        }
+        if (afterCreatedAt != null) {
+            conditions.add("(o.createdAt < :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id < :afterId))");
+            parameters.put("afterCreatedAt", afterCreatedAt);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder("select o.id from Order o");
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by o.createdAt desc, o.id desc");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+}
@@ -1,7 +1,23 @@
 package com.heshima.heshima_studio.repository;
 
 import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for managing {@link Order} entities.
@@ -11,7 +27,140 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * selected services. Extending {@link JpaRepository} gives me
  * built-in CRUD operations (save, findById, findAll, delete, etc.)
  * without writing any SQL manually.
+ *
+ * The "WithItems" reads use an entity graph so the order, its items and each
+ * item's product come back in one joined SELECT instead of one query per order.
+ *
+ * The filtered admin list (status, email, date range, product) lives in
+ * {@link OrderFilterRepository}.
+ *
+ * Soft-deleted orders are invisible to every JPQL/derived query here (see the
+ * @SQLRestriction on Order). The native statements (the dedupe lookups and the
+ * delete/purge statements) see every row.
  */
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderFilterRepository {
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    @Query("select o from Order o")
+    List<Order> findAllWithItems(Sort sort);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids, Sort sort);
+
+    // Dedupe lookups. Native on purpose: a soft-deleted order keeps its submission id
+    // and Idempotency-Key, and a retry or journal replay must find it (and not insert
+    // the deleted inquiry again), so these skip the deleted_at filter. Items load lazily,
+    // which only costs anything when a duplicate is actually found.
+
+    // queued submissions that already made it to the database; lets a journal
+    // replay skip them instead of inserting a duplicate
+    @Query(value = "select * from orders where submission_id in (:submissionIds)", nativeQuery = true)
+    List<Order> findIncludingDeletedBySubmissionIdIn(@Param("submissionIds") Collection<String> submissionIds);
+
+    // an order already created for this Idempotency-Key, if any
+    @Query(value = "select * from orders where idempotency_key = :idempotencyKey", nativeQuery = true)
+    Optional<Order> findIncludingDeletedByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query(value = "select * from orders where idempotency_key in (:idempotencyKeys)", nativeQuery = true)
+    List<Order> findIncludingDeletedByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+
+    // first page of the admin list: newest inquiries first, id breaks ties.
+    // only ids are read here; the items are fetched in one go afterwards because
+    // a LIMIT cannot be applied to a collection fetch join in SQL
+    @Query("select o.id from Order o order by o.createdAt desc, o.id desc")
+    List<Long> findNewestIds(Limit limit);
+
+    // keyset page: everything strictly "older" than the (createdAt, id) cursor,
+    // so the database seeks on idx_orders_created_at_id instead of skipping rows
+    @Query("select o.id from Order o "
+            + "where o.createdAt < :createdAt "
+            + "or (o.createdAt = :createdAt and o.id < :id) "
+            + "order by o.createdAt desc, o.id desc")
+    List<Long> findIdsOlderThan(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    // status change for any number of orders in one statement, with no read first:
+    // only rows still in the expected status move, so two admins triaging the same
+    // inquiries can't both "win". Bumps version, so a JPA save of an order loaded
+    // before this fails with an optimistic-lock error instead of undoing it.
+    // Returns how many rows changed.
+    @Modifying
+    @Query("update Order o set o.status = :target, o.statusChangedAt = :changedAt, o.version = o.version + 1 "
+            + "where o.id in :ids and o.status = :expected and o.deletedAt is null")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expected") OrderStatus expected,
+                         @Param("target") OrderStatus target,
+                         @Param("changedAt") LocalDateTime changedAt);
+
+    // current status of some orders, to explain which ids a transitionStatus call skipped
+    @Query("select o.id as id, o.status as status, o.statusChangedAt as statusChangedAt "
+            + "from Order o where o.id in :ids")
+    List<StatusRow> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface StatusRow {
+        Long getId();
+
+        OrderStatus getStatus();
+
+        LocalDateTime getStatusChangedAt();
+    }
+
+    // soft delete: tombstones the orders in one statement without loading them.
+    // The submission id and Idempotency-Key stay on the tombstone, so a client retry or
+    // a journal replay of a deleted inquiry finds it and doesn't create it again.
+    // They are only released when InquiryPurger removes the row.
+    // Returns how many rows were tombstoned (already-deleted ids don't count).
+    @Modifying
+    @Query("update Order o set o.deletedAt = :deletedAt, o.version = o.version + 1 "
+            + "where o.id in :ids and o.deletedAt is null")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // hard delete, set-based: the items of these orders, then the orders (FK order).
+    // Native so nothing is loaded, no cascade runs and tombstones can be reached too;
+    // callers keep the id lists bounded (one IN list per statement).
+    @Modifying
+    @Query(value = "delete from order_items where order_id in (:ids)", nativeQuery = true)
+    int deleteItemsByOrderIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from orders where id in (:ids)", nativeQuery = true)
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // the next chunk of tombstoned orders after afterId, for InquiryPurger.
+    // Walks the primary key, so each chunk picks up where the last one stopped
+    // instead of rescanning the live rows in front of it
+    @Query(value = "select id from orders where id > :afterId and deleted_at is not null order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findDeletedIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // every order with the names of its products, for building InquirySearchIndex.
+    // one row per item (one row with a null product name for a general inquiry).
+    // Streamed, with a fetch size, so the whole table never sits in memory as entities;
+    // on MySQL this needs useCursorFetch=true (see application-prod.properties).
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select o.id as id, o.createdAt as createdAt, o.customerName as customerName, "
+            + "o.customerEmail as customerEmail, o.notes as notes, p.name as productName "
+            + "from Order o left join o.items i left join i.product p "
+            + "order by o.id")
+    Stream<SearchRow> streamSearchRows();
+
+    interface SearchRow {
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+
+        String getCustomerName();
+
+        String getCustomerEmail();
+
+        String getNotes();
+
+        String getProductName();
+    }
 }
@@ -2,6 +2,7 @@ package com.heshima.heshima_studio.repository;
 
 import com.heshima.heshima_studio.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,5 +17,8 @@ import java.util.List;
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // helper to get only active services
+    // read-only so a catalog reload is served by the replica when one is configured
+    // (inherited methods like findById are already read-only; declared ones are not)
+    @Transactional(readOnly = true)
     List<Product> findByIsActiveTrue();
 }
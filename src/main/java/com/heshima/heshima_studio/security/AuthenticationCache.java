@@ -0,0 +1,157 @@
+package com.heshima.heshima_studio.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Short-lived cache of credentials that already passed a BCrypt check.
+ *
+ * The admin dashboard sends HTTP Basic credentials on every call, and each one
+ * would otherwise cost a user + role lookup and a full BCrypt match. Once a
+ * username/password pair has been verified, it is remembered here for a short
+ * TTL so repeat requests skip both.
+ *
+ * Security notes:
+ * - Entries are keyed by an HMAC-SHA256 of the username and password under a random
+ *   key generated at startup, so neither the password nor a plain hash of it is
+ *   ever held in memory.
+ * - Only successful logins are cached; a wrong password always goes to BCrypt.
+ * - CredentialChangeListener clears the cache whenever a User or Role row changes,
+ *   so password resets and role changes apply on the next request.
+ *
+ * Sized by heshima.security.auth-cache.max-entries with LRU eviction; entries expire
+ * after heshima.security.auth-cache.ttl. A zero TTL turns caching off.
+ */
+
+@Component
+public class AuthenticationCache {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Map<String, Entry> entries;
+
+    public AuthenticationCache(@Value("${heshima.security.auth-cache.ttl:60s}") Duration ttl,
+                               @Value("${heshima.security.auth-cache.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+
+        // access-ordered LinkedHashMap = simple LRU; guarded by synchronized(entries)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthenticationCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return ttlNanos > 0 && maxEntries > 0;
+    }
+
+    /**
+     * Derives the cache key for a username/password pair.
+     */
+    public String keyFor(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        // separator byte so ("ab", "c") and ("a", "bc") never collide
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+
+    /**
+     * Returns the verified entry for this key, or null if it is missing or expired.
+     */
+    public Entry get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.verifiedAtNanos >= ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    public void put(String key, Object principal, Collection<? extends GrantedAuthority> authorities) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(principal, authorities));
+        }
+    }
+
+    /**
+     * Forgets every verified credential. Called whenever a user or role changes.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    /**
+     * A credential that passed the full check: who it belongs to and what they may do.
+     */
+    public static final class Entry {
+        private final Object principal;
+        private final List<GrantedAuthority> authorities;
+        private final long verifiedAtNanos = System.nanoTime();
+
+        private Entry(Object principal, Collection<? extends GrantedAuthority> authorities) {
+            this.principal = principal;
+            this.authorities = List.copyOf(authorities);
+        }
+
+        public Object getPrincipal() {
+            return principal;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.heshima.heshima_studio.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests that carry {@code Authorization: Bearer <token>}.
+ *
+ * The token is checked by {@link TokenService} (HMAC + expiry only), so an admin
+ * request with a token costs no database lookup and no BCrypt work. Requests
+ * without a bearer token, or with an invalid one, pass through unauthenticated
+ * and the normal rules in SecurityConfig decide (HTTP Basic still works).
+ *
+ * Not a @Component on purpose: Spring Boot would also register it as a plain
+ * servlet filter. SecurityConfig adds it to the security chain instead.
+ */
+
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public BearerTokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            tokenService.verify(header.substring(PREFIX.length()).trim())
+                    .ifPresent(authentication -> {
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(context);
+                    });
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,54 @@
+package com.heshima.heshima_studio.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * {@link AuthenticationProvider} that puts {@link AuthenticationCache} in front of
+ * the real (DAO + BCrypt) provider.
+ *
+ * - Cache hit: returns an authenticated token straight away, no database or BCrypt work.
+ * - Cache miss: delegates, and remembers the result only if the login succeeded.
+ *
+ * SecurityConfig wires this around the DaoAuthenticationProvider for HTTP Basic.
+ */
+
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final AuthenticationCache cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, AuthenticationCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!cache.isEnabled() || authentication.getName() == null || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = cache.keyFor(authentication.getName(), authentication.getCredentials().toString());
+        AuthenticationCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cached.getPrincipal(), null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, result.getPrincipal(), result.getAuthorities());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
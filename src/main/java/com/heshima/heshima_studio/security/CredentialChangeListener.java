@@ -0,0 +1,43 @@
+package com.heshima.heshima_studio.security;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on User and Role that clears {@link AuthenticationCache}.
+ *
+ * A password reset, role change or deleted account has to take effect on the very
+ * next request, so any write to either table drops every cached credential.
+ * Like ProductChangeListener, it clears right away and once more after the
+ * transaction completes.
+ */
+
+@Component
+public class CredentialChangeListener {
+
+    private final AuthenticationCache authenticationCache;
+
+    public CredentialChangeListener(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCredentialsChanged(Object entity) {
+        authenticationCache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    authenticationCache.invalidateAll();
+                }
+            });
+        }
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -22,9 +24,15 @@ import java.util.List;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final AuthenticationCache authenticationCache;
+    private final TokenService tokenService;
 
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService,
+                          AuthenticationCache authenticationCache,
+                          TokenService tokenService) {
         this.userDetailsService = customUserDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.tokenService = tokenService;
     }
 
     @Bean
@@ -33,20 +41,35 @@ public class SecurityConfig {
                 // allow browser apps (like Vite on 5173) to call the API
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
+                // no server-side sessions: every request carries Basic creds or a signed token
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // public endpoints
                         .requestMatchers("/api/health").permitAll()
+                        // load balancer / Kubernetes probes (details only for ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
                         .requestMatchers("/api/products/**").permitAll()
                         // front-end contact form posts here
                         .requestMatchers(HttpMethod.POST, "/api/inquiries").permitAll()
+                        // ...and polls here when the async intake queue answered 202
+                        .requestMatchers(HttpMethod.GET, "/api/inquiries/submissions/*").permitAll()
+                        // admin token login (checks the password once, returns a bearer token)
+                        .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                         // let preflight OPTION requests through
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // admin-only stuff
                         .requestMatchers("/api/inquiries/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Prometheus scrapes with the admin's Basic credentials or a token
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                         // everything else must be authenticated
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(daoAuthenticationProvider())
+                // remember verified Basic credentials briefly so repeat admin calls skip BCrypt
+                .authenticationProvider(new CachingAuthenticationProvider(
+                        daoAuthenticationProvider(), authenticationCache))
+                // Authorization: Bearer <token> from /api/auth/login, verified without DB or BCrypt
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults());
 
         return http.build();
@@ -59,9 +82,9 @@ public class SecurityConfig {
         // Vite dev server
         config.setAllowedOrigins(List.of("http://localhost:5173"));
         // methods frontend can use
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         // headers the browser can send
-        config.setAllowedHeaders(List.of("Content-Type", "Authorization"));
+        config.setAllowedHeaders(List.of("Content-Type", "Authorization", "Idempotency-Key"));
         // allow sending credentials in the future if needed
         config.setAllowCredentials(true);
 
@@ -0,0 +1,176 @@
+package com.heshima.heshima_studio.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived, HMAC-signed admin tokens.
+ *
+ * Flow:
+ * - AuthController checks the password once (DaoAuthenticationProvider + BCrypt)
+ *   and calls {@link #issue(Authentication)}.
+ * - BearerTokenAuthenticationFilter calls {@link #verify(String)} on every request,
+ *   which is a single HMAC plus a constant-time compare: no database, no BCrypt.
+ *
+ * Token format: base64url(payload) + "." + base64url(HMAC-SHA256(payload)),
+ * where payload is "email \n ROLE_A,ROLE_B \n expiresAtEpochSeconds".
+ *
+ * Key: heshima.security.token.secret (Base64, at least 32 bytes). Give every node
+ * the same secret and tokens work across all of them with no shared session store.
+ * When it's blank a random key is generated, so tokens only work on this instance
+ * until it restarts.
+ *
+ * Tokens can't be revoked individually, which is why the TTL
+ * (heshima.security.token.ttl) is kept short.
+ */
+
+@Component
+public class TokenService {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${heshima.security.token.secret:}") String secret,
+                        @Value("${heshima.security.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(keyBytes(secret), HMAC);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a token for an already-authenticated user.
+     */
+    public IssuedToken issue(Authentication authentication) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = authentication.getName() + "\n" + roles + "\n" + expiresAt.getEpochSecond();
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Checks the signature and expiry of a token.
+     *
+     * @return an authenticated token for the user, or empty if the token is
+     *         malformed, tampered with or expired
+     */
+    public Optional<Authentication> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        // the signature matched, so the payload is one we produced in issue()
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", -1);
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(parts[2]);
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = parts[1].isEmpty()
+                ? List.of()
+                : Arrays.stream(parts[1].split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+        return Optional.of(UsernamePasswordAuthenticationToken.authenticated(parts[0], null, authorities));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret.trim());
+        if (decoded.length < 32) {
+            throw new IllegalStateException("heshima.security.token.secret must be at least 32 bytes (Base64)");
+        }
+        return decoded;
+    }
+
+    /**
+     * A freshly signed token and when it stops being accepted.
+     */
+    public static final class IssuedToken {
+        private final String token;
+        private final Instant expiresAt;
+
+        IssuedToken(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Short-term memory of Idempotency-Key headers on POST /api/inquiries.
+ *
+ * Double-clicks and client retries used to create duplicate orders. When the form
+ * sends an Idempotency-Key, InquiryController runs the create through
+ * {@link #execute}:
+ * - First time we see the key: the create runs and its InquiryResponse is kept here.
+ * - Same key again within the TTL: the stored response comes back, no DB work at all.
+ * - Same key while the first request is still running (the double-click case):
+ *   the second request waits for the first one's result instead of inserting,
+ *   up to in-flight-wait; after that it gets IdempotencyKeyInProgressException (409).
+ * - Same key with a different body: IdempotencyKeyConflictException (422).
+ *
+ * The map is a size-bounded, access-ordered LRU and entries expire after the TTL,
+ * so memory stays flat. Once a key has aged out, the unique idempotency_key column
+ * on orders still stops a duplicate (InquiryServiceImpl looks the key up first);
+ * it just costs one query instead of none.
+ *
+ * Keys are remembered per instance; across instances only the DB column applies.
+ */
+
+@Component
+public class IdempotencyIndex {
+
+    // longest key we accept; matches the idempotency_key column
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Duration waitForInFlight;
+
+    // access-ordered LinkedHashMap = simple LRU; guarded by synchronized(entries)
+    private final Map<String, Entry> entries;
+
+    public IdempotencyIndex(@Value("${heshima.inquiry.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${heshima.inquiry.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${heshima.inquiry.idempotency.in-flight-wait:10s}") Duration waitForInFlight) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitForInFlight = waitForInFlight;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyIndex.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code create} at most once per key (while the key is remembered).
+     *
+     * @throws InvalidRequestException           if the key is blank or too long
+     * @throws IdempotencyKeyConflictException   if the key was used for a different request
+     * @throws IdempotencyKeyInProgressException if the first request with the key is still running
+     */
+    public Result execute(String key, InquiryRequest request, Supplier<InquiryResponse> create) {
+        checkKey(key);
+        String fingerprint = fingerprint(request);
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || !entry.isFresh(ttlNanos)) {
+                entry = new Entry(fingerprint);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        if (!owner) {
+            return new Result(await(key, entry), true);
+        }
+
+        try {
+            InquiryResponse response = create.get();
+            entry.result.complete(response);
+            return new Result(response, false);
+        } catch (RuntimeException ex) {
+            // nothing was created, so let the client retry with the same key
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public static void checkKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private InquiryResponse await(String key, Entry entry) {
+        try {
+            return entry.result.get(waitForInFlight.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            // the first request failed; surface the same error to its retry
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * SHA-256 over the fields that define an inquiry, so a reused key with a
+     * different body is caught. A single productId counts the same as one item of
+     * quantity 1, and items are hashed sorted, so the same services in another order
+     * are the same request (a stored order doesn't keep their sequence either).
+     * Field values are length-prefixed to keep it unambiguous.
+     */
+    static String fingerprint(InquiryRequest request) {
+        return fingerprint(request.getName(), request.getEmail(), request.getMessage(),
+                InquiryServiceImpl.requestedItems(request));
+    }
+
+    static String fingerprint(String name, String email, String message, List<InquiryItemRequest> items) {
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, name);
+        append(canonical, email);
+        append(canonical, message);
+        items.stream()
+                .map(item -> item == null ? null
+                        : item.getProductId() + "x" + (item.getQuantity() == null ? 1 : item.getQuantity()))
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .forEach(line -> append(canonical, line));
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static void append(StringBuilder canonical, String value) {
+        if (value == null) {
+            canonical.append("-1:");
+        } else {
+            canonical.append(value.length()).append(':').append(value);
+        }
+    }
+
+    /**
+     * The inquiry for a key, and whether it came from an earlier request.
+     */
+    public static final class Result {
+        private final InquiryResponse response;
+        private final boolean replayed;
+
+        private Result(InquiryResponse response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+
+        public InquiryResponse getResponse() {
+            return response;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+
+    // request fingerprint plus the (possibly still running) result for one key
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<InquiryResponse> result = new CompletableFuture<>();
+        private final long createdAtNanos = System.nanoTime();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isFresh(long ttlNanos) {
+            return System.nanoTime() - createdAtNanos < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.heshima.heshima_studio.service;
+
+/**
+ * Thrown when an Idempotency-Key is reused with a different request body.
+ * Replaying the first response would be wrong and creating a new inquiry would
+ * break the key's promise, so GlobalExceptionHandler answers 422 instead.
+ */
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different inquiry");
+    }
+}
@@ -0,0 +1,15 @@
+package com.heshima.heshima_studio.service;
+
+/**
+ * Thrown when a request waits on an Idempotency-Key whose first request is still
+ * running past heshima.inquiry.idempotency.in-flight-wait. Nothing was created by
+ * the waiting request, so GlobalExceptionHandler answers 409 and the client can
+ * retry with the same key.
+ */
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("Request with Idempotency-Key " + key + " is still in progress; retry shortly");
+    }
+}
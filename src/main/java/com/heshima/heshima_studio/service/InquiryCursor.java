@@ -0,0 +1,61 @@
+package com.heshima.heshima_studio.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position used to page through inquiries (newest first).
+ *
+ * The cursor is the (createdAt, id) pair of the last inquiry on the previous page.
+ * It is handed to the client as an opaque URL-safe Base64 token so the frontend
+ * never has to know how it is built.
+ */
+
+final class InquiryCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    InquiryCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @throws InvalidRequestException if the token is malformed
+     */
+    static InquiryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf('|');
+            if (split < 0) {
+                throw new InvalidRequestException("Invalid inquiry cursor: " + token);
+            }
+            return new InquiryCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.valueOf(raw.substring(split + 1))
+            );
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new InvalidRequestException("Invalid inquiry cursor: " + token, ex);
+        }
+    }
+}
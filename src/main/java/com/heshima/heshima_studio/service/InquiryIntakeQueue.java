@@ -0,0 +1,483 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind intake for public inquiry submissions.
+ *
+ * The synchronous POST /api/inquiries holds a Tomcat thread and a DB connection
+ * for the whole insert. During a campaign burst that drains the connection pool
+ * and the admin dashboard stalls behind the public form. With this queue turned
+ * on, the request thread only:
+ *  1) checks the submission (same item rules as the direct path, products via the
+ *     cached catalog, so no DB connection is taken)
+ *  2) gives it a UUID and puts it on a bounded in-memory queue
+ *  3) returns 202 Accepted with a status URL
+ *
+ * One writer thread drains the queue and saves submissions in groups through
+ * InquiryService.createInquiries: a group is written once it reaches batch-size,
+ * or once flush-interval has passed since its first submission, whichever comes
+ * first. If a group fails, its submissions are retried one at a time so a single
+ * bad one can't sink the others.
+ *
+ * When the queue is full, submit throws InquiryQueueFullException (429).
+ *
+ * With InquiryJournal on, each submission is also appended to the local journal
+ * (and forced to disk) before we answer 202. If the database is down, the writer
+ * keeps those submissions pending and retries them every retry-interval instead of
+ * failing them; on startup, whatever the journal still holds is replayed first.
+ * While any are pending it takes nothing new off the queue, so during an outage
+ * the queue fills and submit answers 429 instead of the backlog growing on the heap.
+ *
+ * Limits to know about: without the journal, the queue lives only in this JVM's
+ * memory, so submissions still queued when the process dies are lost. Status
+ * lookups only work on the instance that accepted the submission.
+ *
+ * Turned on with heshima.inquiry.intake.async (default false), or implicitly by
+ * heshima.inquiry.journal.enabled.
+ */
+
+@Component
+public class InquiryIntakeQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryIntakeQueue.class);
+
+    private final InquiryService inquiryService;
+    private final ProductService productService;
+    private final InquiryJournal journal;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryIntervalNanos;
+
+    private final BlockingQueue<InquirySubmission> queue;
+    // recent submissions by id for the status endpoint; access-ordered LRU guarded by synchronized(statuses)
+    private final Map<String, InquirySubmission> statuses;
+    // recent submissions by Idempotency-Key, same bound; also guarded by synchronized(statuses)
+    private final Map<String, InquirySubmission> byIdempotencyKey;
+    // journaled submissions the database couldn't take yet; only the writer thread
+    // (or stop(), after the writer has exited) touches this
+    private final Deque<InquirySubmission> retry = new ArrayDeque<>();
+    private long nextRetryAtNanos;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public InquiryIntakeQueue(InquiryService inquiryService,
+                              ProductService productService,
+                              InquiryJournal journal,
+                              @Value("${heshima.inquiry.intake.async:false}") boolean enabled,
+                              @Value("${heshima.inquiry.intake.queue-capacity:1000}") int capacity,
+                              @Value("${heshima.inquiry.intake.batch-size:50}") int batchSize,
+                              @Value("${heshima.inquiry.intake.flush-interval:200ms}") Duration flushInterval,
+                              @Value("${heshima.inquiry.intake.status-max-entries:10000}") int statusMaxEntries,
+                              @Value("${heshima.inquiry.journal.retry-interval:5s}") Duration retryInterval) {
+        this.inquiryService = inquiryService;
+        this.productService = productService;
+        this.journal = journal;
+        // a journal only makes sense in front of the queue, so it turns the queue on
+        this.enabled = enabled || journal.isEnabled();
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InquirySubmission> eldest) {
+                // never forget a submission that hasn't been written yet
+                return size() > statusMaxEntries && eldest.getValue().getStatus() != InquirySubmission.Status.QUEUED;
+            }
+        };
+        this.byIdempotencyKey = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InquirySubmission> eldest) {
+                return size() > statusMaxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks a public submission and queues it for the writer.
+     *
+     * @throws IllegalArgumentException   if the items are invalid or a product does not exist
+     * @throws InquiryQueueFullException  if there is no room left in the queue
+     */
+    public InquirySubmission submit(InquiryRequest request) {
+        return submit(request, null);
+    }
+
+    /**
+     * Same as {@link #submit(InquiryRequest)}, but a repeat of a recent Idempotency-Key
+     * returns the submission queued the first time instead of queueing another one.
+     *
+     * @throws IdempotencyKeyConflictException if the key was used for a different request
+     */
+    public InquirySubmission submit(InquiryRequest request, String idempotencyKey) {
+        List<InquiryItemRequest> items = InquiryServiceImpl.requestedItems(request);
+        InquiryServiceImpl.checkItems(items);
+        if (idempotencyKey != null) {
+            IdempotencyIndex.checkKey(idempotencyKey);
+            Optional<InquirySubmission> earlier = findByIdempotencyKey(idempotencyKey);
+            if (earlier.isPresent()) {
+                InquirySubmission first = earlier.get();
+                String sent = IdempotencyIndex.fingerprint(request);
+                String stored = IdempotencyIndex.fingerprint(
+                        first.getName(), first.getEmail(), first.getMessage(), first.getItems());
+                if (!sent.equals(stored)) {
+                    throw new IdempotencyKeyConflictException(idempotencyKey);
+                }
+                return first;
+            }
+        }
+        for (InquiryItemRequest item : items) {
+            // served from ProductCatalogCache, so this normally doesn't reach MySQL
+            if (productService.getProductById(item.getProductId()).isEmpty()) {
+                throw new IllegalArgumentException("Product not found: " + item.getProductId());
+            }
+        }
+
+        InquirySubmission submission = new InquirySubmission(
+                UUID.randomUUID().toString(),
+                request.getName(),
+                request.getEmail(),
+                request.getMessage(),
+                items,
+                LocalDateTime.now(),
+                idempotencyKey
+        );
+
+        // register first so the status URL works as soon as the client has it
+        synchronized (statuses) {
+            statuses.put(submission.getId(), submission);
+            if (idempotencyKey != null) {
+                byIdempotencyKey.put(idempotencyKey, submission);
+            }
+        }
+        if (journal.isEnabled()) {
+            // durable before we promise anything to the client
+            try {
+                journal.append(submission);
+            } catch (RuntimeException ex) {
+                // never written, so it must not sit QUEUED or answer retries of its key
+                forget(submission);
+                throw ex;
+            }
+        }
+        if (!queue.offer(submission)) {
+            forget(submission);
+            if (journal.isEnabled()) {
+                // the client is told to retry, so this copy must not be replayed too
+                journal.markDone(List.of(submission.getId()));
+            }
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(flushIntervalNanos * 2));
+            throw new InquiryQueueFullException(capacity, retryAfter);
+        }
+        return submission;
+    }
+
+    // undoes submit's registration for a submission that was not accepted after all
+    private void forget(InquirySubmission submission) {
+        synchronized (statuses) {
+            statuses.remove(submission.getId());
+            if (submission.getIdempotencyKey() != null) {
+                byIdempotencyKey.remove(submission.getIdempotencyKey(), submission);
+            }
+        }
+    }
+
+    /**
+     * Looks up a recent submission by the id returned from {@link #submit}.
+     */
+    public Optional<InquirySubmission> getSubmission(String id) {
+        synchronized (statuses) {
+            return Optional.ofNullable(statuses.get(id));
+        }
+    }
+
+    private Optional<InquirySubmission> findByIdempotencyKey(String idempotencyKey) {
+        synchronized (statuses) {
+            return Optional.ofNullable(byIdempotencyKey.get(idempotencyKey));
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Loads what the journal still holds from the last run and lines it up for the
+     * writer ahead of new submissions.
+     *
+     * @return how many submissions were recovered
+     */
+    int recover() {
+        List<InquirySubmission> pending = journal.open();
+        synchronized (statuses) {
+            for (InquirySubmission submission : pending) {
+                statuses.put(submission.getId(), submission);
+                if (submission.getIdempotencyKey() != null) {
+                    byIdempotencyKey.put(submission.getIdempotencyKey(), submission);
+                }
+            }
+        }
+        retry.addAll(pending);
+        nextRetryAtNanos = System.nanoTime();
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} inquiries from the journal", pending.size());
+        }
+        return pending.size();
+    }
+
+    /**
+     * Tries the submissions the database turned away earlier, one group at a time.
+     * Stops at the first group that fails again and waits retry-interval.
+     *
+     * @return how many were saved (or failed for good)
+     */
+    int retryPending() {
+        int done = 0;
+        while (!retry.isEmpty()) {
+            List<InquirySubmission> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && !retry.isEmpty()) {
+                batch.add(retry.poll());
+            }
+            int before = retry.size();
+            write(batch);
+            if (retry.size() > before) {
+                // database still unavailable
+                nextRetryAtNanos = System.nanoTime() + retryIntervalNanos;
+                break;
+            }
+            done += batch.size();
+        }
+        return done;
+    }
+
+    int getRetryCount() {
+        return retry.size();
+    }
+
+    /**
+     * Writes everything currently queued, in groups of batch-size, on the caller's thread.
+     * Used on shutdown and by tests; the writer thread uses {@link #nextBatch()} instead.
+     *
+     * @return how many submissions were taken off the queue
+     */
+    int flush() {
+        int taken = 0;
+        List<InquirySubmission> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            taken += batch.size();
+            write(batch);
+            batch.clear();
+        }
+        return taken;
+    }
+
+    /**
+     * Blocks for up to one flush interval waiting for a first submission, then keeps
+     * collecting until the group is full or the interval since that first one is up.
+     */
+    private List<InquirySubmission> nextBatch() throws InterruptedException {
+        List<InquirySubmission> batch = new ArrayList<>(batchSize);
+        InquirySubmission first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            // take whatever is already waiting without blocking
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long wait = deadline - System.nanoTime();
+            if (wait <= 0) {
+                break;
+            }
+            InquirySubmission next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<InquirySubmission> batch) {
+        try {
+            List<InquiryResponse> saved = inquiryService.createInquiries(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).markSaved(saved.get(i).getId());
+            }
+            if (journal.isEnabled()) {
+                journal.markDone(batch.stream().map(InquirySubmission::getId).toList());
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return;
+            }
+            if (journal.isEnabled() && isDatabaseUnavailable(ex)) {
+                // splitting the group would only hit the same outage N times
+                log.warn("Inquiry batch of {} not saved yet ({}), will retry", batch.size(), ex.getMessage());
+                retry.addAll(batch);
+                return;
+            }
+            log.warn("Inquiry batch of {} failed ({}), retrying one at a time", batch.size(), ex.getMessage());
+            for (InquirySubmission submission : batch) {
+                write(List.of(submission));
+            }
+        }
+    }
+
+    private void fail(InquirySubmission submission, RuntimeException ex) {
+        // these carry a message meant for the client (e.g. product removed meanwhile,
+        // or an Idempotency-Key the database already holds for a different inquiry)
+        boolean invalid = ex instanceof IllegalArgumentException || ex instanceof IdempotencyKeyConflictException;
+        if (journal.isEnabled() && isDatabaseUnavailable(ex)) {
+            // the journal still has it, so keep it and retry once the database is back
+            log.warn("Queued inquiry {} not saved yet ({}), will retry", submission.getId(), ex.getMessage());
+            retry.add(submission);
+            return;
+        }
+
+        submission.markFailed(invalid ? ex.getMessage() : "Could not save inquiry");
+        if (journal.isEnabled()) {
+            journal.markDone(List.of(submission.getId()));
+        }
+        log.error("Queued inquiry {} could not be saved", submission.getId(), ex);
+    }
+
+    /**
+     * True for errors that mean "try again later" (no connection, timeouts, deadlocks),
+     * as opposed to a submission the database will never accept.
+     */
+    static boolean isDatabaseUnavailable(Throwable ex) {
+        return ex instanceof CannotCreateTransactionException
+                || ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException;
+    }
+
+    /**
+     * One round of the writer loop. Pending retries go first, and while any are left
+     * new submissions stay in the bounded queue: draining it into {@code retry}
+     * would switch off the 429 backpressure exactly when the database is down.
+     */
+    void writeNext() throws InterruptedException {
+        if (!retry.isEmpty()) {
+            long wait = nextRetryAtNanos - System.nanoTime();
+            if (wait > 0) {
+                // short naps, so stop() is still noticed within a flush interval
+                TimeUnit.NANOSECONDS.sleep(Math.min(wait, flushIntervalNanos));
+            } else {
+                retryPending();
+            }
+            return;
+        }
+        List<InquirySubmission> batch = nextBatch();
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                writeNext();
+            } catch (InterruptedException ex) {
+                // stop() finishes the job with flush()
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                log.error("Inquiry writer hit an unexpected error", ex);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        if (journal.isEnabled()) {
+            recover();
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "inquiry-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // no interrupt: the writer may be mid-transaction; it sees the flag within a flush interval
+        running = false;
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos * 2) + 30_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // anything still waiting is written here, while the DataSource is still open
+        int remaining = flush();
+        if (remaining > 0) {
+            log.info("Wrote {} queued inquiries on shutdown", remaining);
+        }
+        if (journal.isEnabled()) {
+            // whatever is still in retry stays in the journal for the next start
+            journal.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // stop after the web server (graceful shutdown runs at DEFAULT_PHASE - 1024),
+        // so no new submissions arrive while we drain
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
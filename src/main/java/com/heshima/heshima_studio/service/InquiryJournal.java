@@ -0,0 +1,438 @@
+package com.heshima.heshima_studio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead journal for queued inquiries.
+ *
+ * Without it, a submission accepted by InquiryIntakeQueue only lives in memory
+ * until the writer gets it into MySQL, so a database outage (or a restart during
+ * one) loses leads. With the journal on, every accepted submission is appended
+ * here and forced to disk before the client gets 202, and it stays pending until
+ * the writer reports it saved. On startup, anything still pending is handed back
+ * to the queue and replayed; Order.submissionId is unique, so a replay never
+ * creates a second order.
+ *
+ * On-disk layout:
+ * - The directory holds numbered segment files (inquiries-00000000000000000001.log ...),
+ *   each preallocated to segment-size and memory-mapped.
+ * - A record is [int length][int crc32][byte type][payload]; the crc covers type
+ *   and payload. A zero length marks the end of a segment, and a bad crc marks a
+ *   torn write from a crash, so reading stops there.
+ * - ACCEPTED records carry the submission as JSON, DONE records carry just its id.
+ * - A new segment is started on every boot and whenever the current one is full.
+ *   A segment is deleted once it is no longer current and all its submissions are done.
+ *
+ * Group commit: appends go into the mapped buffer under a lock, then each caller
+ * waits until a force() covers its record. Whichever caller finds no force in
+ * progress runs one for everyone appended so far, so a burst of N submissions
+ * costs a handful of fsyncs instead of N. DONE records are never forced; if one
+ * is lost in a crash the submission is simply replayed and skipped as a duplicate.
+ *
+ * Turned on with heshima.inquiry.journal.enabled (default false). It implies the
+ * queued intake mode.
+ */
+
+@Component
+public class InquiryJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryJournal.class);
+
+    private static final byte TYPE_ACCEPTED = 1;
+    private static final byte TYPE_DONE = 2;
+    // length + crc32 + type
+    private static final int HEADER_BYTES = 4 + 4 + 1;
+    private static final String SEGMENT_PREFIX = "inquiries-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+
+    // guards everything below; "flushed" wakes callers waiting for a group commit
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+
+    private Segment active;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    // pending (accepted, not done) submission ids per segment, and the reverse lookup
+    private final Map<Long, Set<String>> pendingBySegment = new HashMap<>();
+    private final Map<String, Long> segmentOf = new HashMap<>();
+
+    private final AtomicLong forceCount = new AtomicLong();
+
+    public InquiryJournal(ObjectMapper objectMapper,
+                          @Value("${heshima.inquiry.journal.enabled:false}") boolean enabled,
+                          @Value("${heshima.inquiry.journal.dir:data/inquiry-journal}") String directory,
+                          @Value("${heshima.inquiry.journal.segment-size:16MB}") DataSize segmentSize,
+                          @Value("${heshima.inquiry.journal.fsync:true}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.fsync = fsync;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads every existing segment, deletes the ones with nothing left to do, and
+     * starts a fresh segment for this run.
+     *
+     * @return submissions that were accepted but never marked done, oldest first
+     */
+    public List<InquirySubmission> open() {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            Map<String, InquirySubmission> pending = new LinkedHashMap<>();
+            long lastIndex = 0;
+
+            for (Path file : listSegments()) {
+                long index = segmentIndex(file);
+                lastIndex = Math.max(lastIndex, index);
+                pendingBySegment.put(index, new HashSet<>());
+                readSegment(file, index, pending);
+            }
+
+            // everything on disk is sealed now; drop what is fully done
+            for (Long index : List.copyOf(pendingBySegment.keySet())) {
+                deleteIfDone(index);
+            }
+
+            active = Segment.create(segmentPath(lastIndex + 1), lastIndex + 1, segmentBytes);
+            pendingBySegment.put(active.index, new HashSet<>());
+            return new ArrayList<>(pending.values());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open inquiry journal in " + directory, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an accepted submission. When this returns, the record is on disk
+     * (unless fsync is turned off).
+     */
+    public void append(InquirySubmission submission) {
+        byte[] payload = toJson(submission);
+        long seq;
+        lock.lock();
+        try {
+            seq = write(TYPE_ACCEPTED, payload);
+            pendingBySegment.get(active.index).add(submission.getId());
+            segmentOf.put(submission.getId(), active.index);
+        } finally {
+            lock.unlock();
+        }
+        if (fsync) {
+            awaitDurable(seq);
+        }
+    }
+
+    /**
+     * Records that these submissions are in the database (or failed for good) and
+     * deletes segments that no longer hold anything pending.
+     */
+    public void markDone(Collection<String> submissionIds) {
+        lock.lock();
+        try {
+            for (String id : submissionIds) {
+                Long index = segmentOf.remove(id);
+                if (index == null) {
+                    continue;
+                }
+                write(TYPE_DONE, id.getBytes(StandardCharsets.UTF_8));
+                Set<String> pending = pendingBySegment.get(index);
+                if (pending != null) {
+                    pending.remove(id);
+                }
+                deleteIfDone(index);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return segmentOf.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces whatever is left and releases the current segment.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            if (active != null) {
+                force(active);
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // number of fsyncs so far; lets tests check that appends are grouped
+    long getForceCount() {
+        return forceCount.get();
+    }
+
+    // caller holds the lock
+    private long write(byte type, byte[] payload) {
+        if (active == null) {
+            throw new IllegalStateException("Inquiry journal is not open");
+        }
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new InvalidRequestException("Inquiry is too large to journal (" + payload.length + " bytes)");
+        }
+        if (!active.fits(recordBytes)) {
+            rotate();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        active.append(type, (int) crc.getValue(), payload);
+        return ++appendedSeq;
+    }
+
+    // caller holds the lock
+    private void rotate() {
+        Segment sealed = active;
+        // records in the old segment must be durable before we stop tracking it
+        force(sealed);
+        durableSeq = appendedSeq;
+        try {
+            active = Segment.create(segmentPath(sealed.index + 1), sealed.index + 1, segmentBytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not rotate inquiry journal", ex);
+        }
+        pendingBySegment.put(active.index, new HashSet<>());
+        deleteIfDone(sealed.index);
+    }
+
+    /**
+     * Blocks until a force() has covered record {@code seq}. The first waiter runs
+     * the force for everybody; the rest sleep until it finishes.
+     */
+    private void awaitDurable(long seq) {
+        lock.lock();
+        try {
+            while (durableSeq < seq) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                long target = appendedSeq;
+                Segment segment = active;
+                lock.unlock();
+                try {
+                    force(segment);
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    flushed.signalAll();
+                }
+                durableSeq = Math.max(durableSeq, target);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void force(Segment segment) {
+        segment.buffer.force();
+        forceCount.incrementAndGet();
+    }
+
+    // caller holds the lock
+    private void deleteIfDone(long index) {
+        Set<String> pending = pendingBySegment.get(index);
+        boolean current = active != null && active.index == index;
+        if (current || pending == null || !pending.isEmpty()) {
+            return;
+        }
+        pendingBySegment.remove(index);
+        try {
+            Files.deleteIfExists(segmentPath(index));
+        } catch (IOException ex) {
+            // harmless: the next open() finds it fully done and tries again
+            log.warn("Could not delete inquiry journal segment {}", index, ex);
+        }
+    }
+
+    private void readSegment(Path file, long index, Map<String, InquirySubmission> pending) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - 5) {
+                    // end of data, or a length that was only partly written
+                    break;
+                }
+                int storedCrc = buffer.getInt();
+                byte type = buffer.get();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(type);
+                crc.update(payload);
+                if ((int) crc.getValue() != storedCrc) {
+                    log.warn("Inquiry journal segment {} has a torn record; ignoring the rest of it", index);
+                    break;
+                }
+
+                if (type == TYPE_ACCEPTED) {
+                    InquirySubmission submission = fromJson(payload);
+                    pending.put(submission.getId(), submission);
+                    pendingBySegment.get(index).add(submission.getId());
+                    segmentOf.put(submission.getId(), index);
+                } else if (type == TYPE_DONE) {
+                    String id = new String(payload, StandardCharsets.UTF_8);
+                    pending.remove(id);
+                    Long owner = segmentOf.remove(id);
+                    if (owner != null) {
+                        pendingBySegment.get(owner).remove(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        // zero-padded so lexical order is numeric order
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private byte[] toJson(InquirySubmission submission) {
+        JournalEntry entry = new JournalEntry();
+        entry.id = submission.getId();
+        entry.name = submission.getName();
+        entry.email = submission.getEmail();
+        entry.message = submission.getMessage();
+        entry.items = submission.getItems();
+        entry.acceptedAt = submission.getAcceptedAt().toString();
+        entry.idempotencyKey = submission.getIdempotencyKey();
+        try {
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize inquiry " + submission.getId(), ex);
+        }
+    }
+
+    private InquirySubmission fromJson(byte[] payload) throws IOException {
+        JournalEntry entry = objectMapper.readValue(payload, JournalEntry.class);
+        return new InquirySubmission(entry.id, entry.name, entry.email, entry.message,
+                entry.items != null ? entry.items : List.of(), LocalDateTime.parse(entry.acceptedAt),
+                entry.idempotencyKey);
+    }
+
+    // JSON shape of an ACCEPTED record; the time is kept as ISO text so no Jackson module is needed
+    static final class JournalEntry {
+        public String id;
+        public String name;
+        public String email;
+        public String message;
+        public List<InquiryItemRequest> items;
+        public String acceptedAt;
+        public String idempotencyKey;
+    }
+
+    // one mapped segment file; only touched while holding the journal lock (force() aside)
+    private static final class Segment {
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        private Segment(long index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long index, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // mapping past the end grows the file to its full size, zero-filled
+                return new Segment(index, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        boolean fits(int recordBytes) {
+            return buffer.capacity() - writeOffset >= recordBytes;
+        }
+
+        void append(byte type, int crc, byte[] payload) {
+            // absolute puts: force() on another thread never sees a moving position
+            int at = writeOffset;
+            buffer.putInt(at + 4, crc);
+            buffer.put(at + 8, type);
+            buffer.put(at + 9, payload);
+            // length last, so a reader never sees a length without its bytes
+            buffer.putInt(at, payload.length);
+            writeOffset = at + HEADER_BYTES + payload.length;
+        }
+    }
+}
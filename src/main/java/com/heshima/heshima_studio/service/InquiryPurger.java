@@ -0,0 +1,81 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted inquiries (orders with deleted_at set).
+ *
+ * - Works in chunks of heshima.inquiry.purge.chunk-size orders. Each chunk is
+ *   its own short transaction of three statements: pick the next tombstoned ids
+ *   by primary key after the last chunk, delete their order_items, delete the orders.
+ * - Row locks are only held for one chunk, so a purge of thousands of spam
+ *   inquiries doesn't block the live tables, and a failure part way keeps
+ *   the chunks that already committed.
+ * - Tombstoned orders already left the search index when they were soft-deleted.
+ */
+
+@Component
+public class InquiryPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryPurger.class);
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public InquiryPurger(OrderRepository orderRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${heshima.inquiry.purge.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("heshima.inquiry.purge.chunk-size must be at least 1");
+        }
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Purges every tombstoned inquiry, one chunk at a time.
+     *
+     * @return how many orders were removed
+     */
+    public int purgeDeleted() {
+        long started = System.nanoTime();
+        int purged = 0;
+        int chunks = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> purgeChunk(from));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            purged += ids.size();
+            chunks++;
+        }
+        if (purged > 0) {
+            log.info("Purged {} deleted inquiries in {} chunks in {} ms",
+                    purged, chunks, (System.nanoTime() - started) / 1_000_000);
+        }
+        return purged;
+    }
+
+    // deletes the next chunk after afterId and returns its ids, in id order
+    private List<Long> purgeChunk(long afterId) {
+        List<Long> ids = orderRepository.findDeletedIdsAfter(afterId, chunkSize);
+        if (!ids.isEmpty()) {
+            orderRepository.deleteItemsByOrderIdIn(ids);
+            orderRepository.deleteRowsByIdIn(ids);
+        }
+        return ids;
+    }
+}
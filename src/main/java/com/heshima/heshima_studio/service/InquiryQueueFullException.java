@@ -0,0 +1,21 @@
+package com.heshima.heshima_studio.service;
+
+/**
+ * Thrown by InquiryIntakeQueue when the intake queue has no room left.
+ * GlobalExceptionHandler turns it into 429 Too Many Requests with a Retry-After
+ * header, so the form can ask the visitor to try again shortly.
+ */
+
+public class InquiryQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public InquiryQueueFullException(int capacity, long retryAfterSeconds) {
+        super("Inquiry queue is full (" + capacity + " waiting), please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,281 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.repository.OrderArchiveRepository;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves old CLOSED inquiries out of "orders" / "order_items" into the archive
+ * tables, so the live tables (and every admin query on them) stop growing forever.
+ *
+ * Every heshima.inquiry.retention.interval, on its own thread:
+ * - Walks CLOSED, undeleted orders created more than max-age ago in
+ *   (created_at, id) order (idx_orders_status_created_at), chunk-size at a time.
+ *   Each chunk is one short transaction: lock the chunk's rows, copy orders and
+ *   items with INSERT ... SELECT, delete items, delete orders. Row locks never
+ *   outlive a chunk, and a failure only rolls back the chunk it happened in.
+ * - Sleeps for pause between chunks, and stops the run early (the next run
+ *   picks up where the data left off) when any request is waiting for a pool
+ *   connection, or after max-chunks-per-run chunks. So it holds at most one
+ *   connection, and only while nobody else needs it.
+ * - Archived ids are removed from the search index once their chunk commits.
+ *
+ * Progress is published as metrics: heshima.retention.archived (inquiries moved),
+ * heshima.retention.chunk (time per chunk), heshima.retention.yielded (runs cut
+ * short by a busy pool), and gauges for whether a run is in progress and for
+ * what the last run archived and when it ended.
+ *
+ * On shutdown a run in progress finishes the chunk it is in and stops before the
+ * next one; it is never interrupted mid-chunk.
+ *
+ * Off by default (heshima.inquiry.retention.enabled); {@link #runOnce()} runs it by hand.
+ */
+
+@Component
+public class InquiryRetentionJob implements SmartLifecycle {
+
+    public static final String ARCHIVED = "heshima.retention.archived";
+    public static final String CHUNK = "heshima.retention.chunk";
+    public static final String YIELDED = "heshima.retention.yielded";
+
+    private static final Logger log = LoggerFactory.getLogger(InquiryRetentionJob.class);
+
+    // keyset start: before any created_at the table can hold
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // how long stop() waits for a run to finish its current chunk; chunks are short transactions
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final InquirySearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final Duration interval;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int maxChunksPerRun;
+
+    private final Counter archived;
+    private final Timer chunkTimer;
+    private final Counter yielded;
+    private final AtomicLong lastRunArchived = new AtomicLong();
+    private final AtomicLong lastRunEnd = new AtomicLong();
+
+    private final AtomicBoolean inProgress = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    // set by stop(); a run checks it between chunks
+    private volatile boolean stopping;
+
+    public InquiryRetentionJob(OrderRepository orderRepository,
+                               OrderArchiveRepository archiveRepository,
+                               InquirySearchIndex searchIndex,
+                               PlatformTransactionManager transactionManager,
+                               DataSource dataSource,
+                               MeterRegistry registry,
+                               @Value("${heshima.inquiry.retention.enabled:false}") boolean enabled,
+                               @Value("${heshima.inquiry.retention.max-age:365d}") Duration maxAge,
+                               @Value("${heshima.inquiry.retention.interval:1h}") Duration interval,
+                               @Value("${heshima.inquiry.retention.chunk-size:200}") int chunkSize,
+                               @Value("${heshima.inquiry.retention.pause:200ms}") Duration pause,
+                               @Value("${heshima.inquiry.retention.max-chunks-per-run:500}") int maxChunksPerRun) {
+        if (chunkSize < 1 || maxChunksPerRun < 1) {
+            throw new IllegalArgumentException(
+                    "heshima.inquiry.retention.chunk-size and max-chunks-per-run must be at least 1");
+        }
+        this.orderRepository = orderRepository;
+        this.archiveRepository = archiveRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.interval = interval;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.archived = Counter.builder(ARCHIVED)
+                .description("CLOSED inquiries moved to the archive tables")
+                .register(registry);
+        this.chunkTimer = Timer.builder(CHUNK)
+                .description("Time to lock, copy and delete one retention chunk")
+                .register(registry);
+        this.yielded = Counter.builder(YIELDED)
+                .description("Retention runs stopped early because requests were waiting for a connection")
+                .register(registry);
+        Gauge.builder("heshima.retention.running", inProgress, flag -> flag.get() ? 1 : 0)
+                .description("1 while a retention run is in progress")
+                .register(registry);
+        Gauge.builder("heshima.retention.last.run.archived", lastRunArchived, AtomicLong::get)
+                .description("Inquiries archived by the last retention run")
+                .register(registry);
+        Gauge.builder("heshima.retention.last.run.end", lastRunEnd, AtomicLong::get)
+                .description("When the last retention run ended, in epoch seconds")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        stopping = false;
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "inquiry-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::runSafely, millis, millis, TimeUnit.MILLISECONDS);
+            log.info("Inquiry retention on: CLOSED inquiries older than {} are archived every {}", maxAge, interval);
+        }
+        running = true;
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException ex) {
+            // keep the schedule alive; the failed chunk rolled back and is retried next run
+            log.warn("Inquiry retention run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Runs one retention pass now, unless one is already in progress.
+     *
+     * @return how many inquiries were archived
+     */
+    public int runOnce() {
+        if (!inProgress.compareAndSet(false, true)) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        int total = 0;
+        int chunks = 0;
+        LocalDateTime afterCreatedAt = START;
+        long afterId = 0;
+        try {
+            while (chunks < maxChunksPerRun && !stopping && !Thread.currentThread().isInterrupted()) {
+                if (poolBusy()) {
+                    yielded.increment();
+                    log.debug("Inquiry retention yielding to waiting requests after {} chunks", chunks);
+                    break;
+                }
+                LocalDateTime fromCreatedAt = afterCreatedAt;
+                long fromId = afterId;
+                List<OrderArchiveRepository.Candidate> chunk = chunkTimer.record(() ->
+                        transactionTemplate.execute(status -> archiveChunk(cutoff, fromCreatedAt, fromId)));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                chunk.forEach(candidate -> searchIndex.remove(candidate.getId()));
+                archived.increment(chunk.size());
+                total += chunk.size();
+                chunks++;
+
+                OrderArchiveRepository.Candidate last = chunk.get(chunk.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lastRunArchived.set(total);
+            lastRunEnd.set(System.currentTimeMillis() / 1000);
+            inProgress.set(false);
+        }
+        if (total > 0) {
+            log.info("Archived {} CLOSED inquiries in {} chunks in {} ms",
+                    total, chunks, (System.nanoTime() - started) / 1_000_000);
+        }
+        return total;
+    }
+
+    // one chunk, inside its own transaction; returns what it archived, in keyset order
+    private List<OrderArchiveRepository.Candidate> archiveChunk(LocalDateTime cutoff,
+                                                               LocalDateTime afterCreatedAt,
+                                                               long afterId) {
+        List<OrderArchiveRepository.Candidate> chunk =
+                archiveRepository.lockArchivable(cutoff, afterCreatedAt, afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<Long> ids = chunk.stream().map(OrderArchiveRepository.Candidate::getId).toList();
+        archiveRepository.copyOrders(ids, LocalDateTime.now());
+        archiveRepository.copyItems(ids);
+        orderRepository.deleteItemsByOrderIdIn(ids);
+        orderRepository.deleteRowsByIdIn(ids);
+        return chunk;
+    }
+
+    /**
+     * True when requests are queued for a pool connection right now. Reads the
+     * pool's own counters (like ConnectionPoolHealthIndicator), so it never takes
+     * a connection itself.
+     */
+    boolean poolBusy() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return false;
+            }
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool != null && pool.getThreadsAwaitingConnection() > 0;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void stop() {
+        // no interrupt: a run may be mid-chunk; it sees the flag before starting the next one
+        stopping = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Inquiry retention run still busy after {}; leaving it to finish on its own", STOP_TIMEOUT);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
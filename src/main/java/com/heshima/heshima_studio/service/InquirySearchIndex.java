@@ -0,0 +1,338 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over inquiries for GET /api/inquiries/search.
+ *
+ * Admins used to find a lead by loading every inquiry and searching in the
+ * browser. A LIKE '%...%' over orders would scan the whole table on every
+ * keystroke, so instead we keep term -> (order id -> weight) in memory:
+ * - Indexed text: customer name, customer email, notes and the product names
+ *   on the order's items. Text is lower-cased, accents are dropped and it is
+ *   split on anything that isn't a letter or digit ("jane.doe@acme.com" is
+ *   jane, doe, acme, com).
+ * - A term found in the name or email weighs 3, in a product name 2, in the
+ *   notes 1; a term in several fields gets the sum.
+ * - Every query term must match (AND). A query term also matches the indexed
+ *   terms it is a prefix of ("ann" finds "annabel"), at half weight, so the
+ *   search box works while the admin is still typing.
+ * - Score = sum over query terms of weight * idf, so rare terms count more than
+ *   "com" or "gmail". Ties go to the newest inquiry.
+ *
+ * InquirySearchIndexLoader fills the index at startup and OrderSearchListener
+ * keeps it in step with every committed insert, update and delete. Searches take
+ * a read lock and writers a write lock; both are short.
+ */
+
+@Component
+public class InquirySearchIndex {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float EMAIL_WEIGHT = 3f;
+    static final float PRODUCT_WEIGHT = 2f;
+    static final float NOTES_WEIGHT = 1f;
+
+    // prefix matches count half as much as the exact term
+    static final float PREFIX_FACTOR = 0.5f;
+    // one- or two-letter prefixes would match most of the dictionary
+    static final int MIN_PREFIX_LENGTH = 3;
+    // cap how many dictionary terms one query term can expand to
+    static final int MAX_PREFIX_EXPANSIONS = 200;
+    static final int MAX_QUERY_TERMS = 10;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> order id -> weight; sorted so prefix lookups are a subMap
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // order id -> what we need to rank it and to take it out again
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Adds an inquiry, or replaces what was indexed for it before.
+     */
+    public void put(Document document) {
+        Map<String, Float> terms = document.terms();
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.getId());
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new HashMap<>())
+                        .put(document.getId(), term.getValue());
+            }
+            entries.put(document.getId(), new Entry(document.getCreatedAt(), terms.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked order ids for {@code query}, best first.
+     *
+     * @param offset hits to skip (page * size)
+     * @param limit  hits to return
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Hits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = match(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Float> both = new HashMap<>();
+                    for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+                        Float score = termScores.get(hit.getKey());
+                        if (score != null) {
+                            both.put(hit.getKey(), hit.getValue() + score);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return Hits.EMPTY;
+                }
+            }
+            return new Hits(scores.size(), top(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case, accent-free words of {@code text}; empty for null or blank text.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // every order matching one query term, exactly or by prefix, with its best weight * idf
+    private Map<Long, Float> match(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        addPostings(scores, queryTerm, postings.get(queryTerm), 1f);
+
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Float>> term
+                    : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                addPostings(scores, term.getKey(), term.getValue(), PREFIX_FACTOR);
+            }
+        }
+        return scores;
+    }
+
+    private void addPostings(Map<Long, Float> scores, String term, Map<Long, Float> docs, float factor) {
+        if (docs == null || docs.isEmpty()) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) entries.size() / docs.size());
+        for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+            // max, not sum: "design" shouldn't outrank an exact hit because it also has "designer"
+            scores.merge(doc.getKey(), doc.getValue() * idf * factor, Math::max);
+        }
+    }
+
+    // the page [offset, offset + limit) of the ranking, without sorting every hit
+    private List<Long> top(Map<Long, Float> scores, int offset, int limit) {
+        if (offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+        Comparator<Map.Entry<Long, Float>> ranking = Comparator
+                .<Map.Entry<Long, Float>>comparingDouble(Map.Entry::getValue)
+                .thenComparing(hit -> entries.get(hit.getKey()).createdAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Map.Entry::getKey)
+                .reversed();
+
+        int keep = (int) Math.min((long) offset + limit, scores.size());
+        // worst kept hit on top, so each better one replaces it
+        PriorityQueue<Map.Entry<Long, Float>> best = new PriorityQueue<>(keep, ranking.reversed());
+        for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+            best.offer(hit);
+            if (best.size() > keep) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        return ranked.subList(offset, ranked.size()).stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void removeLocked(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final LocalDateTime createdAt;
+        private final Set<String> terms;
+
+        private Entry(LocalDateTime createdAt, Set<String> terms) {
+            this.createdAt = createdAt;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * The searchable text of one inquiry, copied out of the entity so it can be
+     * indexed after the transaction that wrote it has committed.
+     */
+    public static final class Document {
+        private final Long id;
+        private final LocalDateTime createdAt;
+        private final String customerName;
+        private final String customerEmail;
+        private final String notes;
+        private final List<String> productNames;
+
+        public Document(Long id, LocalDateTime createdAt, String customerName, String customerEmail,
+                        String notes, List<String> productNames) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.customerName = customerName;
+            this.customerEmail = customerEmail;
+            this.notes = notes;
+            this.productNames = productNames;
+        }
+
+        public static Document of(Order order) {
+            List<String> productNames = new ArrayList<>();
+            for (OrderItem item : order.getItems()) {
+                if (item.getProduct() != null) {
+                    productNames.add(item.getProduct().getName());
+                }
+            }
+            return new Document(order.getId(), order.getCreatedAt(), order.getCustomerName(),
+                    order.getCustomerEmail(), order.getNotes(), productNames);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        // term -> summed weight of the fields it appears in
+        Map<String, Float> terms() {
+            Map<String, Float> terms = new HashMap<>();
+            addField(terms, customerName, NAME_WEIGHT);
+            addField(terms, customerEmail, EMAIL_WEIGHT);
+            addField(terms, String.join(" ", productNames), PRODUCT_WEIGHT);
+            addField(terms, notes, NOTES_WEIGHT);
+            return terms;
+        }
+
+        private static void addField(Map<String, Float> terms, String text, float weight) {
+            for (String token : new LinkedHashSet<>(tokenize(text))) {
+                terms.merge(token, weight, Float::sum);
+            }
+        }
+    }
+
+    /**
+     * One page of ranked order ids, plus how many inquiries matched in total.
+     */
+    public static final class Hits {
+        static final Hits EMPTY = new Hits(0, Collections.emptyList());
+
+        private final int total;
+        private final List<Long> ids;
+
+        Hits(int total, List<Long> ids) {
+            this.total = total;
+            this.ids = ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link InquirySearchIndex} from the orders table at startup.
+ *
+ * - One streamed, read-only scan (OrderRepository.streamSearchRows): one row per
+ *   order item, ordered by order id, so each order's rows arrive together and can
+ *   be indexed as soon as the next id shows up. Only the current order is held.
+ * - Runs as a SmartLifecycle before InquiryIntakeQueue and the web server start,
+ *   so the index is complete before the first search or queued write.
+ *   From then on OrderSearchListener keeps it current.
+ */
+
+@Component
+public class InquirySearchIndexLoader implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InquirySearchIndexLoader.class);
+
+    private final OrderRepository orderRepository;
+    private final InquirySearchIndex searchIndex;
+    private final TransactionTemplate readOnly;
+
+    private volatile boolean running;
+
+    public InquirySearchIndexLoader(OrderRepository orderRepository,
+                                    InquirySearchIndex searchIndex,
+                                    PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.searchIndex = searchIndex;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Override
+    public void start() {
+        long started = System.nanoTime();
+        Integer indexed = readOnly.execute(status -> {
+            try (Stream<OrderRepository.SearchRow> rows = orderRepository.streamSearchRows()) {
+                return load(rows);
+            }
+        });
+        running = true;
+        log.info("Indexed {} inquiries for search in {} ms",
+                indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Groups consecutive rows by order id into documents and indexes them.
+     *
+     * @return how many orders were indexed
+     */
+    int load(Stream<OrderRepository.SearchRow> rows) {
+        int indexed = 0;
+        OrderRepository.SearchRow current = null;
+        List<String> productNames = new ArrayList<>();
+
+        for (OrderRepository.SearchRow row : (Iterable<OrderRepository.SearchRow>) rows::iterator) {
+            if (current != null && !Objects.equals(current.getId(), row.getId())) {
+                searchIndex.put(toDocument(current, productNames));
+                indexed++;
+                productNames = new ArrayList<>();
+            }
+            current = row;
+            if (row.getProductName() != null) {
+                productNames.add(row.getProductName());
+            }
+        }
+        if (current != null) {
+            searchIndex.put(toDocument(current, productNames));
+            indexed++;
+        }
+        return indexed;
+    }
+
+    private static InquirySearchIndex.Document toDocument(OrderRepository.SearchRow row, List<String> productNames) {
+        return new InquirySearchIndex.Document(row.getId(), row.getCreatedAt(), row.getCustomerName(),
+                row.getCustomerEmail(), row.getNotes(), productNames);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // before InquiryIntakeQueue (DEFAULT_PHASE - 4096), which may replay journaled orders
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
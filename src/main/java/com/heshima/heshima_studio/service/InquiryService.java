@@ -1,6 +1,14 @@
 package com.heshima.heshima_studio.service;
 
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.InquirySearchResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.repository.OrderFilter;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,10 +18,14 @@ import java.util.Optional;
  *
  * This interface defines the core operations my application supports
  * around inquiries / orders:
- *  - Creating a new inquiry from the public form.
+ *  - Creating a new inquiry from the public form (one service or several).
  *  - Listing all inquiries for the admin dashboard.
+ *  - Paging through inquiries newest-first with a keyset cursor, optionally
+ *    filtered by status, email, date range or product.
+ *  - Full-text search over inquiries, best match first.
  *  - Looking up a single inquiry by id.
- *  - Deleting an inquiry if the admin no longer needs it.
+ *  - Moving inquiries through the status workflow, one or many at a time.
+ *  - Deleting inquiries (one or many, soft or hard) if the admin no longer needs them.
  *
  * The implementation that wires this up to the database is
  * {@link InquiryServiceImpl}, but the controller depends on this interface
@@ -22,11 +34,94 @@ import java.util.Optional;
 
 public interface InquiryService {
 
+    int MAX_PAGE_SIZE = 100;
+
+    int MAX_STATUS_CHANGE_IDS = 1000;
+
+    int MAX_DELETE_IDS = 1000;
+
     InquiryResponse createInquiry(Long productId, String name, String email, String message);
 
+    /**
+     * Creates a single inquiry that covers several services, in one transaction.
+     *
+     * @param items requested services; an empty list is a general inquiry
+     * @throws IllegalArgumentException if any product id does not exist
+     */
+    InquiryResponse createInquiry(String name, String email, String message, List<InquiryItemRequest> items);
+
+    /**
+     * Creates an inquiry from the public form payload (items list, or a single
+     * productId) and is safe to retry: if an inquiry was already created with this
+     * Idempotency-Key, that inquiry is returned and nothing new is written.
+     *
+     * @param idempotencyKey the client's Idempotency-Key header
+     * @throws IdempotencyKeyConflictException if the key already belongs to a different inquiry
+     */
+    InquiryResponse createInquiry(InquiryRequest request, String idempotencyKey);
+
+    /**
+     * Writes several queued submissions in one transaction (used by InquiryIntakeQueue).
+     * Results come back in the same order as the submissions.
+     *
+     * @throws InvalidRequestException         if any submission is invalid; nothing is saved then
+     * @throws IllegalArgumentException        if any product id does not exist; nothing is saved then
+     * @throws IdempotencyKeyConflictException if a submission reuses a key for a different
+     *                                         inquiry; nothing is saved then
+     */
+    List<InquiryResponse> createInquiries(List<InquirySubmission> submissions);
+
     List<InquiryResponse> getAllInquiries();
 
+    /**
+     * Returns one page of inquiries, newest first.
+     *
+     * @param cursor opaque token from a previous page's {@code nextCursor}, or null for the first page
+     * @param limit  requested page size; clamped to 1..{@link #MAX_PAGE_SIZE}
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    InquiryPageResponse getInquiryPage(String cursor, int limit);
+
+    /**
+     * Same as {@link #getInquiryPage(String, int)}, restricted to the inquiries
+     * matching {@code filter}. The cursor only makes sense with the same filter.
+     */
+    InquiryPageResponse getInquiryPage(String cursor, int limit, OrderFilter filter);
+
+    /**
+     * Searches customer name, email, notes and product names (see InquirySearchIndex).
+     *
+     * @param query free text; every word must match, words of 3+ letters also match as prefixes
+     * @param page  zero-based page number
+     * @param size  requested page size; clamped to 1..{@link #MAX_PAGE_SIZE}
+     */
+    InquirySearchResponse searchInquiries(String query, int page, int size);
+
     Optional<InquiryResponse> getInquiryById(Long id);
 
+    /**
+     * Moves every inquiry in {@code ids} that is still in {@code expected} to
+     * {@code target}, in one statement, and reports what happened to each id.
+     *
+     * @throws InvalidStatusTransitionException if the workflow doesn't allow expected -> target
+     * @throws InvalidRequestException          if a status is missing, or there are no ids
+     *                                          or more than {@link #MAX_STATUS_CHANGE_IDS}
+     */
+    StatusChangeResponse changeStatus(List<Long> ids, OrderStatus expected, OrderStatus target);
+
+    /**
+     * Deletes one inquiry, soft or hard depending on heshima.inquiry.soft-delete.
+     *
+     * @throws IllegalArgumentException if there is no (undeleted) inquiry with that id
+     */
     void deleteInquiry(Long id);
+
+    /**
+     * Deletes every inquiry in {@code ids} with set-based statements, soft or hard
+     * depending on heshima.inquiry.soft-delete. Unknown or already-deleted ids are
+     * skipped; the response counts the ones actually deleted.
+     *
+     * @throws InvalidRequestException if there are no ids or more than {@link #MAX_DELETE_IDS}
+     */
+    InquiryDeleteResponse deleteInquiries(List<Long> ids);
 }
\ No newline at end of file
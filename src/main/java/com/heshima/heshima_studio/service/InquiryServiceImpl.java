@@ -1,37 +1,71 @@
 package com.heshima.heshima_studio.service;
 
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryItemResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.InquirySearchResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
 import com.heshima.heshima_studio.entity.Order;
 import com.heshima.heshima_studio.entity.OrderItem;
 import com.heshima.heshima_studio.entity.OrderStatus;
 import com.heshima.heshima_studio.entity.Product;
-import com.heshima.heshima_studio.repository.OrderItemRepository;
+import com.heshima.heshima_studio.repository.OrderFilter;
 import com.heshima.heshima_studio.repository.OrderRepository;
 import com.heshima.heshima_studio.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class InquiryServiceImpl implements InquiryService {
 
+    // admin views always list newest first; id keeps the order stable on equal timestamps
+    private static final Sort NEWEST_FIRST =
+            Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
+    // keeps one public submission from turning into an unbounded write
+    static final int MAX_ITEMS_PER_INQUIRY = 50;
+
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final InquirySearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean softDelete;
 
     public InquiryServiceImpl(ProductRepository productRepository,
                               OrderRepository orderRepository,
-                              OrderItemRepository orderItemRepository) {
+                              InquirySearchIndex searchIndex,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${heshima.inquiry.soft-delete:false}") boolean softDelete) {
         this.productRepository = productRepository;
         this.orderRepository = orderRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.softDelete = softDelete;
     }
 
     /**
@@ -41,77 +75,523 @@ public class InquiryServiceImpl implements InquiryService {
      * so the admin can see who reached out.
      */
     @Override
+    @Transactional
     public InquiryResponse createInquiry(Long productId, String name, String email, String message) {
-        // 1) create the order header
+        List<InquiryItemRequest> items = productId != null
+                ? List.of(new InquiryItemRequest(productId, 1))
+                : Collections.emptyList();
+        return createInquiry(name, email, message, items);
+    }
+
+    /**
+     * Creates one inquiry covering any number of services.
+     *
+     * Write path, all in one transaction:
+     *  1) resolve every product id with a single findAllById query
+     *  2) build the order and attach items through Order.addItem
+     *  3) save the order once; the items cascade from it and go out as one JDBC batch
+     */
+    @Override
+    @Transactional
+    public InquiryResponse createInquiry(String name, String email, String message,
+                                         List<InquiryItemRequest> items) {
+        return createInquiry(name, email, message, items, null);
+    }
+
+    /**
+     * Idempotent variant: a retried request with the same key gets the inquiry
+     * created the first time, provided it asks for the same thing; the same key
+     * with a different body is an IdempotencyKeyConflictException.
+     *
+     * Two requests with one key can both miss the lookup (different instances, or
+     * the key has aged out of IdempotencyIndex). The slower insert then fails on
+     * the unique idempotency_key column, its transaction rolls back, and the order
+     * the faster one committed is read back in a new transaction and replayed.
+     */
+    @Override
+    public InquiryResponse createInquiry(InquiryRequest request, String idempotencyKey) {
+        List<InquiryItemRequest> lines = checkItems(requestedItems(request));
+        try {
+            return transactionTemplate.execute(status -> findByIdempotencyKey(idempotencyKey, request)
+                    .orElseGet(() -> createInquiry(request.getName(), request.getEmail(), request.getMessage(),
+                            lines, idempotencyKey)));
+        } catch (DataIntegrityViolationException ex) {
+            // read-write on purpose: a read-only transaction may go to a replica that hasn't seen the winner yet
+            InquiryResponse winner = transactionTemplate.execute(status ->
+                    findByIdempotencyKey(idempotencyKey, request).orElse(null));
+            if (winner == null) {
+                throw ex;
+            }
+            return winner;
+        }
+    }
+
+    // the stored inquiry for a key, if the request matches what created it
+    private Optional<InquiryResponse> findByIdempotencyKey(String idempotencyKey, InquiryRequest request) {
+        return orderRepository.findIncludingDeletedByIdempotencyKey(idempotencyKey)
+                .map(order -> {
+                    if (!sameRequest(order, request)) {
+                        throw new IdempotencyKeyConflictException(idempotencyKey);
+                    }
+                    return toInquiryResponse(order);
+                });
+    }
+
+    /**
+     * Whether {@code order} is what {@code request} would create: the same
+     * IdempotencyIndex fingerprint, recomputed from the stored row.
+     */
+    static boolean sameRequest(Order order, InquiryRequest request) {
+        return fingerprint(order).equals(IdempotencyIndex.fingerprint(request));
+    }
+
+    private static String fingerprint(Order order) {
+        List<InquiryItemRequest> stored = order.getItems().stream()
+                .map(item -> new InquiryItemRequest(item.getProduct().getId(), item.getQuantity()))
+                .toList();
+        return IdempotencyIndex.fingerprint(order.getCustomerName(), order.getCustomerEmail(), order.getNotes(), stored);
+    }
+
+    private static String fingerprint(InquirySubmission submission) {
+        return IdempotencyIndex.fingerprint(submission.getName(), submission.getEmail(), submission.getMessage(),
+                submission.getItems());
+    }
+
+    // shared write path for both public variants; idempotencyKey may be null
+    private InquiryResponse createInquiry(String name, String email, String message,
+                                          List<InquiryItemRequest> items, String idempotencyKey) {
+        List<InquiryItemRequest> lines = checkItems(items);
+
+        // 1) look up all requested products in one round-trip
+        Map<Long, Product> products = resolveProducts(lines);
+
+        // 2) create the order header and its lines
+        Order order = buildOrder(name, email, message, lines, products, LocalDateTime.now());
+        order.setIdempotencyKey(idempotencyKey);
+
+        // 3) one save; cascade = ALL on Order.items writes the lines with it.
+        //    Keyed inserts flush now, so a duplicate key fails here, inside the caller's transaction
+        Order savedOrder = idempotencyKey != null ? orderRepository.saveAndFlush(order) : orderRepository.save(order);
+
+        // return a clean DTO back to the controller
+        return toInquiryResponse(savedOrder);
+    }
+
+    /**
+     * Writes a group of queued submissions (see InquiryIntakeQueue) in one transaction.
+     * Products for the whole group are resolved in one query and the orders are
+     * saved together, so N submissions cost about the same as one.
+     * If any submission is invalid the whole group rolls back and the caller
+     * retries them one by one.
+     *
+     * Idempotent: a submission whose id (or Idempotency-Key) is already on an order,
+     * e.g. replayed from the journal after a crash, is not inserted again; its
+     * existing order is returned, even if it has been soft-deleted since. Several
+     * submissions with one Idempotency-Key in the same group insert once and all
+     * get that order.
+     *
+     * A key only stands for the request that first used it, the same rule as the
+     * direct path: if a stored order or an earlier submission in the group has the
+     * key but a different body, the group fails with IdempotencyKeyConflictException.
+     * The queue then retries one by one, so only the conflicting submission fails.
+     */
+    @Override
+    @Transactional
+    public List<InquiryResponse> createInquiries(List<InquirySubmission> submissions) {
+        Map<String, Order> existing = new HashMap<>();
+        List<String> submissionIds = submissions.stream().map(InquirySubmission::getId).toList();
+        for (Order order : orderRepository.findIncludingDeletedBySubmissionIdIn(submissionIds)) {
+            existing.put(order.getSubmissionId(), order);
+        }
+
+        // the first submission with each key stands for every one with that key: later
+        // ones in the same group (a double submit) are answered from its order
+        Map<String, InquirySubmission> firstByKey = new HashMap<>();
+        for (InquirySubmission submission : submissions) {
+            String key = submission.getIdempotencyKey();
+            if (key == null) {
+                continue;
+            }
+            InquirySubmission first = firstByKey.putIfAbsent(key, submission);
+            if (first != null && !fingerprint(first).equals(fingerprint(submission))) {
+                throw new IdempotencyKeyConflictException(key);
+            }
+        }
+        if (!firstByKey.isEmpty()) {
+            for (Order order : orderRepository.findIncludingDeletedByIdempotencyKeyIn(firstByKey.keySet())) {
+                InquirySubmission first = firstByKey.get(order.getIdempotencyKey());
+                if (existing.containsKey(first.getId())) {
+                    // a journal replay of the submission that stored the key
+                    continue;
+                }
+                if (!fingerprint(order).equals(fingerprint(first))) {
+                    throw new IdempotencyKeyConflictException(order.getIdempotencyKey());
+                }
+                existing.put(first.getId(), order);
+            }
+        }
+
+        List<InquirySubmission> fresh = submissions.stream()
+                .filter(submission -> !existing.containsKey(submission.getId()))
+                .filter(submission -> submission.getIdempotencyKey() == null
+                        || firstByKey.get(submission.getIdempotencyKey()) == submission)
+                .toList();
+
+        List<InquiryItemRequest> allLines = new ArrayList<>();
+        for (InquirySubmission submission : fresh) {
+            allLines.addAll(checkItems(submission.getItems()));
+        }
+        Map<Long, Product> products = resolveProducts(allLines);
+
+        List<Order> orders = new ArrayList<>(fresh.size());
+        for (InquirySubmission submission : fresh) {
+            Order order = buildOrder(
+                    submission.getName(),
+                    submission.getEmail(),
+                    submission.getMessage(),
+                    submission.getItems(),
+                    products,
+                    // keep the time the visitor actually submitted, not the time we wrote it
+                    submission.getAcceptedAt()
+            );
+            order.setSubmissionId(submission.getId());
+            order.setIdempotencyKey(submission.getIdempotencyKey());
+            orders.add(order);
+        }
+        Map<String, Order> bySubmissionId = new HashMap<>(existing);
+        Iterator<Order> saved = orderRepository.saveAll(orders).iterator();
+        for (InquirySubmission submission : fresh) {
+            bySubmissionId.put(submission.getId(), saved.next());
+        }
+
+        // answer in submission order, mixing new and already-present orders;
+        // a same-key duplicate gets the order of the first submission with its key
+        List<InquiryResponse> responses = new ArrayList<>(submissions.size());
+        for (InquirySubmission submission : submissions) {
+            Order order = bySubmissionId.get(submission.getId());
+            if (order == null) {
+                order = bySubmissionId.get(firstByKey.get(submission.getIdempotencyKey()).getId());
+            }
+            responses.add(toInquiryResponse(order));
+        }
+        return responses;
+    }
+
+    /**
+     * Checks the shape of a submission's items without touching the database:
+     * item count, product ids present, quantities >= 1.
+     * Shared with InquiryIntakeQueue so queued and direct submissions follow the same rules.
+     */
+    static List<InquiryItemRequest> checkItems(List<InquiryItemRequest> items) {
+        List<InquiryItemRequest> lines = items != null ? items : Collections.emptyList();
+        if (lines.size() > MAX_ITEMS_PER_INQUIRY) {
+            throw new InvalidRequestException("Too many services in one inquiry (max " + MAX_ITEMS_PER_INQUIRY + ")");
+        }
+        for (InquiryItemRequest line : lines) {
+            if (line == null || line.getProductId() == null) {
+                throw new InvalidRequestException("Every inquiry item needs a productId");
+            }
+            if (line.getQuantity() != null && line.getQuantity() < 1) {
+                throw new InvalidRequestException("Quantity must be at least 1 for product: " + line.getProductId());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * The services a public request asks for: its items list when sent, otherwise
+     * the single productId as one item, otherwise none (general inquiry).
+     */
+    static List<InquiryItemRequest> requestedItems(InquiryRequest request) {
+        if (request.getItems() != null) {
+            return request.getItems();
+        }
+        return request.getProductId() != null
+                ? List.of(new InquiryItemRequest(request.getProductId(), 1))
+                : Collections.emptyList();
+    }
+
+    private Order buildOrder(String name, String email, String message, List<InquiryItemRequest> lines,
+                             Map<Long, Product> products, LocalDateTime createdAt) {
         Order order = new Order();
         order.setCustomerName(name);
         order.setCustomerEmail(email);
         order.setNotes(message);
         order.setStatus(OrderStatus.NEW);
-        order.setCreatedAt(LocalDateTime.now());
+        order.setCreatedAt(createdAt);
 
-        Order savedOrder = orderRepository.save(order);
+        for (InquiryItemRequest line : lines) {
+            Product product = products.get(line.getProductId());
+            int quantity = line.getQuantity() != null ? line.getQuantity() : 1;
+            BigDecimal unitPrice = product.getBasePrice() != null ? product.getBasePrice() : BigDecimal.ZERO;
+            order.addItem(new OrderItem(product, quantity, unitPrice.multiply(BigDecimal.valueOf(quantity))));
+        }
+        return order;
+    }
 
-        // 2) only create an order item if a productId was actually sent
-        if (productId != null) {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
+    private Map<Long, Product> resolveProducts(List<InquiryItemRequest> lines) {
+        if (lines.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-            OrderItem item = new OrderItem();
-            item.setOrder(savedOrder);
-            item.setProduct(product);
-            item.setQuantity(1);
-            item.setFinalPrice(product.getBasePrice() != null ? product.getBasePrice() : BigDecimal.ZERO);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (InquiryItemRequest line : lines) {
+            ids.add(line.getProductId());
+        }
 
-            orderItemRepository.save(item);
+        Map<Long, Product> found = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            found.put(product.getId(), product);
+        }
 
-            // attach to order so mapping works
-            savedOrder.setItems(List.of(item));
-        } else {
-            // general inquiry – no product line
-            savedOrder.setItems(Collections.emptyList());
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Product not found: " + joinIds(missing));
         }
+        return found;
+    }
 
-        // 3) return a clean DTO back to the controller
-        return toInquiryResponse(savedOrder);
+    private static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(", "));
     }
 
     /**
      * Returns all inquiries (admin view).
+     * Orders, items and products are loaded in a single query (see OrderRepository).
+     * The admin reads here are read-only transactions, so with a replica configured
+     * they are served from it (see ReadWriteRoutingConfig).
      */
     @Override
+    @Transactional(readOnly = true)
     public List<InquiryResponse> getAllInquiries() {
-        return orderRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
+        return orderRepository.findAllWithItems(NEWEST_FIRST)
                 .stream()
                 .map(this::toInquiryResponse)
                 .toList();
     }
 
+    /**
+     * Returns one keyset page of inquiries (admin view).
+     * We ask the repository for one extra id so we know whether a next page
+     * exists without running a count query, then load the page's orders with
+     * their items in a second query. Two statements per page, at any depth.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InquiryPageResponse getInquiryPage(String cursor, int limit) {
+        return getInquiryPage(cursor, limit, OrderFilter.NONE);
+    }
+
+    /**
+     * Filtered variant of the keyset page. With any filter set, the id query is
+     * built by OrderFilterRepository: still one index-backed statement, with the
+     * same (createdAt, id) ordering and cursor, so paging works the same way.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InquiryPageResponse getInquiryPage(String cursor, int limit, OrderFilter filter) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        InquiryCursor position = cursor == null || cursor.isBlank() ? null : InquiryCursor.decode(cursor);
+
+        List<Long> ids;
+        if (!filter.isEmpty()) {
+            ids = orderRepository.findFilteredIds(filter,
+                    position != null ? position.getCreatedAt() : null,
+                    position != null ? position.getId() : null,
+                    Limit.of(pageSize + 1));
+        } else if (position == null) {
+            ids = orderRepository.findNewestIds(Limit.of(pageSize + 1));
+        } else {
+            ids = orderRepository.findIdsOlderThan(
+                    position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        List<Order> page = pageIds.isEmpty()
+                ? Collections.emptyList()
+                : orderRepository.findWithItemsByIdIn(pageIds, NEWEST_FIRST);
+
+        String nextCursor = null;
+        if (hasMore && !page.isEmpty()) {
+            Order last = page.get(page.size() - 1);
+            nextCursor = new InquiryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<InquiryResponse> items = page.stream()
+                .map(this::toInquiryResponse)
+                .toList();
+
+        return new InquiryPageResponse(items, nextCursor, pageSize);
+    }
+
+    /**
+     * Searches inquiries (admin view).
+     * Matching and ranking happen in memory (InquirySearchIndex); the database only
+     * loads the page's orders by primary key, in one query, and we put them back in
+     * rank order. An id the index still had but the table no longer does is skipped.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public InquirySearchResponse searchInquiries(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        InquirySearchIndex.Hits hits = searchIndex.search(query, offset, pageSize);
+        if (hits.getIds().isEmpty()) {
+            return new InquirySearchResponse(query, Collections.emptyList(), hits.getTotal(), pageNumber, pageSize);
+        }
+
+        Map<Long, Order> byId = new HashMap<>();
+        for (Order order : orderRepository.findWithItemsByIdIn(hits.getIds(), Sort.unsorted())) {
+            byId.put(order.getId(), order);
+        }
+        List<InquiryResponse> items = hits.getIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toInquiryResponse)
+                .toList();
+
+        return new InquirySearchResponse(query, items, hits.getTotal(), pageNumber, pageSize);
+    }
+
     /**
      * Returns a single inquiry by id, or empty if not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<InquiryResponse> getInquiryById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithItemsById(id)
                 .map(this::toInquiryResponse);
     }
 
     /**
      * Deletes an inquiry from the system.
+     * No load and no existence check: the delete statements report how many rows
+     * they hit, and zero means the id was unknown (or already deleted).
      */
     @Override
+    @Transactional
     public void deleteInquiry(Long id) {
-        boolean exists = orderRepository.existsById(id);
-        if (!exists) {
+        if (deleteRows(List.of(id)) == 0) {
             throw new IllegalArgumentException("Inquiry (order) not found with id: " + id);
         }
-        orderRepository.deleteById(id);
+    }
+
+    /**
+     * Bulk delete for clearing spam: the whole id list goes through one or two
+     * statements instead of a load, cascade and DELETE per order.
+     */
+    @Override
+    @Transactional
+    public InquiryDeleteResponse deleteInquiries(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(unique::add);
+        }
+        if (unique.isEmpty()) {
+            throw new InvalidRequestException("No inquiry ids given");
+        }
+        if (unique.size() > MAX_DELETE_IDS) {
+            throw new InvalidRequestException("Too many inquiries in one delete (max " + MAX_DELETE_IDS + ")");
+        }
+        return new InquiryDeleteResponse(deleteRows(unique), softDelete);
+    }
+
+    /**
+     * Soft mode: one UPDATE that tombstones the rows (InquiryPurger removes them later).
+     *   Tombstones keep their submission id and Idempotency-Key, so retries replay them.
+     * Hard mode: a DELETE on order_items, then one on orders.
+     * Either way the statements skip entity callbacks, so the ids are taken out of
+     * the search index here, once the transaction commits.
+     *
+     * @return how many orders were deleted
+     */
+    private int deleteRows(Collection<Long> ids) {
+        int deleted;
+        if (softDelete) {
+            deleted = orderRepository.softDeleteByIdIn(ids, LocalDateTime.now());
+        } else {
+            orderRepository.deleteItemsByOrderIdIn(ids);
+            deleted = orderRepository.deleteRowsByIdIn(ids);
+        }
+        if (deleted > 0) {
+            List<Long> removed = List.copyOf(ids);
+            OrderSearchListener.afterCommit(() -> removed.forEach(searchIndex::remove));
+        }
+        return deleted;
+    }
+
+    /**
+     * Moves inquiries from {@code expected} to {@code target} (admin triage).
+     *
+     * One conditional UPDATE does the work for every id, with no read first. The
+     * database only touches rows still in the expected status, so concurrent admins
+     * can't overwrite each other. The UPDATE stamps statusChangedAt with this
+     * call's own timestamp. When fewer rows changed than ids were asked for, one
+     * SELECT by primary key explains the rest: rows at the target carrying our
+     * timestamp are ours (UPDATED), others at the target were already there
+     * (UNCHANGED), and anything else is a CONFLICT or NOT_FOUND.
+     */
+    @Override
+    @Transactional
+    public StatusChangeResponse changeStatus(List<Long> ids, OrderStatus expected, OrderStatus target) {
+        if (expected == null || target == null) {
+            throw new InvalidRequestException("Both expectedStatus and status are required");
+        }
+        if (!expected.canMoveTo(target)) {
+            throw new InvalidStatusTransitionException(expected, target);
+        }
+        Set<Long> unique = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(unique::add);
+        }
+        if (unique.isEmpty()) {
+            throw new InvalidRequestException("No inquiry ids given");
+        }
+        if (unique.size() > MAX_STATUS_CHANGE_IDS) {
+            throw new InvalidRequestException("Too many inquiries in one status change (max " + MAX_STATUS_CHANGE_IDS + ")");
+        }
+
+        // datetime(6) keeps microseconds, so truncate or the read-back wouldn't compare equal
+        LocalDateTime changedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = orderRepository.transitionStatus(unique, expected, target, changedAt);
+
+        List<StatusChangeResponse.Result> results = new ArrayList<>(unique.size());
+        if (updated == unique.size()) {
+            for (Long id : unique) {
+                results.add(new StatusChangeResponse.Result(id, StatusChangeResponse.Outcome.UPDATED, target));
+            }
+            return new StatusChangeResponse(updated, results);
+        }
+
+        Map<Long, OrderRepository.StatusRow> current = new HashMap<>();
+        for (OrderRepository.StatusRow row : orderRepository.findStatusByIdIn(unique)) {
+            current.put(row.getId(), row);
+        }
+        for (Long id : unique) {
+            OrderRepository.StatusRow row = current.get(id);
+            StatusChangeResponse.Outcome outcome;
+            if (row == null) {
+                outcome = StatusChangeResponse.Outcome.NOT_FOUND;
+            } else if (row.getStatus() != target) {
+                outcome = StatusChangeResponse.Outcome.CONFLICT;
+            } else if (changedAt.equals(row.getStatusChangedAt())) {
+                outcome = StatusChangeResponse.Outcome.UPDATED;
+            } else {
+                outcome = StatusChangeResponse.Outcome.UNCHANGED;
+            }
+            results.add(new StatusChangeResponse.Result(id, outcome, row != null ? row.getStatus() : null));
+        }
+        return new StatusChangeResponse(updated, results);
     }
 
     /**
      * Helper to map our Order + OrderItems into the DTO the controller returns.
+     * Package-private so the JMH mapping benchmark can call it directly.
      */
-    private InquiryResponse toInquiryResponse(Order order) {
+    InquiryResponse toInquiryResponse(Order order) {
         List<InquiryItemResponse> itemDtos = order.getItems().stream()
                 .map(item -> new InquiryItemResponse(
                         item.getId(),
@@ -128,6 +608,7 @@ public class InquiryServiceImpl implements InquiryService {
                 order.getCustomerEmail(),
                 order.getNotes(),
                 order.getCreatedAt(),
+                order.getStatus(),
                 itemDtos
         );
     }
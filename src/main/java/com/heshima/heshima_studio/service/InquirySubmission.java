@@ -0,0 +1,109 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One public inquiry that has been accepted by InquiryIntakeQueue but may not
+ * be in MySQL yet.
+ *
+ * The submission id is a random UUID handed back to the client with 202 Accepted;
+ * the client polls GET /api/inquiries/submissions/{id} until the status turns
+ * SAVED (with the real inquiry id) or FAILED (with a reason).
+ *
+ * idempotencyKey is the client's Idempotency-Key header, if any; it ends up on the
+ * saved order so the database rejects a second order for the same key.
+ *
+ * The request fields never change after construction. Only the status fields are
+ * written later, by the writer thread, so they are volatile.
+ */
+
+public final class InquirySubmission {
+
+    public enum Status {
+        QUEUED,
+        SAVED,
+        FAILED
+    }
+
+    private final String id;
+    private final String name;
+    private final String email;
+    private final String message;
+    private final List<InquiryItemRequest> items;
+    private final LocalDateTime acceptedAt;
+    private final String idempotencyKey;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Long inquiryId;
+    private volatile String error;
+
+    public InquirySubmission(String id, String name, String email, String message,
+                             List<InquiryItemRequest> items, LocalDateTime acceptedAt) {
+        this(id, name, email, message, items, acceptedAt, null);
+    }
+
+    public InquirySubmission(String id, String name, String email, String message,
+                             List<InquiryItemRequest> items, LocalDateTime acceptedAt,
+                             String idempotencyKey) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.message = message;
+        this.items = List.copyOf(items);
+        this.acceptedAt = acceptedAt;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<InquiryItemRequest> getItems() {
+        return items;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getInquiryId() {
+        return inquiryId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void markSaved(Long inquiryId) {
+        this.inquiryId = inquiryId;
+        this.status = Status.SAVED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.status = Status.FAILED;
+    }
+}
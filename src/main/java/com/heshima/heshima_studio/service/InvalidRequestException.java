@@ -0,0 +1,21 @@
+package com.heshima.heshima_studio.service;
+
+/**
+ * Thrown when a request is malformed or breaks a limit: a bad cursor or
+ * Idempotency-Key, an empty date range, too many ids or items. GlobalExceptionHandler
+ * answers 400, leaving plain IllegalArgumentException (404) for things that don't exist.
+ *
+ * Still an IllegalArgumentException, so callers that sort failures into
+ * "the client's fault" and "ours" (InquiryIntakeQueue) keep treating it as invalid input.
+ */
+
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.OrderStatus;
+
+/**
+ * Thrown when a status change asks for a move the workflow doesn't allow
+ * (see OrderStatus.canMoveTo), e.g. CLOSED -> NEW. Nothing is updated and
+ * GlobalExceptionHandler answers 422.
+ */
+
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Inquiries can't move from " + from + " to " + to);
+    }
+}
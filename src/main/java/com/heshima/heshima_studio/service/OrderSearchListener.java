@@ -0,0 +1,59 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Order;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on Order that keeps {@link InquirySearchIndex} current.
+ *
+ * Every way an order gets written goes through here: direct and idempotent
+ * creates, batches from InquiryIntakeQueue, journal replays and deletes. The
+ * index only changes once the transaction commits, so a rolled-back insert
+ * never shows up in search and a rolled-back delete never disappears from it.
+ * Bulk statements skip entity callbacks, so InquiryServiceImpl's set-based
+ * deletes use {@link #afterCommit} to drop their ids themselves.
+ * The searchable text is copied when the event fires, while the entity and its
+ * items are still loaded.
+ */
+
+@Component
+public class OrderSearchListener {
+
+    private final InquirySearchIndex searchIndex;
+
+    public OrderSearchListener(InquirySearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onOrderWritten(Order order) {
+        InquirySearchIndex.Document document = InquirySearchIndex.Document.of(order);
+        afterCommit(() -> searchIndex.put(document));
+    }
+
+    @PostRemove
+    public void onOrderRemoved(Order order) {
+        Long id = order.getId();
+        afterCommit(() -> searchIndex.remove(id));
+    }
+
+    // runs the action once the current transaction commits, or right away outside one
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,225 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, read-through cache for the public product catalog.
+ *
+ * The catalog only changes a few times a month but /api/products is the most
+ * requested public endpoint, so ProductServiceImpl reads through this cache
+ * instead of going to MySQL on every hit.
+ *
+ * What it holds:
+ * - The active catalog as one immutable list snapshot.
+ * - Single products by id, in a size-bounded LRU map.
+ *
+ * Both expire after a TTL, and {@link #invalidate()} drops everything at once.
+ * ProductChangeListener calls invalidate whenever a Product row is written, and
+ * each invalidation bumps {@link #getVersion()} and {@link #getLastModified()}.
+ *
+ * {@link #getVersionTag(Supplier)} is what the controller turns into an HTTP ETag.
+ * It is a hash of the cached catalog's content ({@link #contentTag(Collection)}),
+ * so every instance, before and after a restart, gives the same tag for the same
+ * catalog, and a CDN or browser never sees one tag name two different bodies.
+ *
+ * Note: cached products are detached entities shared between requests, so
+ * callers must treat them as read-only.
+ */
+
+@Component
+public class ProductCatalogCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // local invalidation counter, only used to drop loads that raced a write
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Instant lastModified = Instant.now();
+
+    private volatile Entry<List<Product>> activeCatalog;
+    private volatile String lastCatalogTag;
+    private final Map<Long, Entry<Product>> byId;
+
+    public ProductCatalogCache(@Value("${heshima.catalog.cache.ttl:5m}") Duration ttl,
+                               @Value("${heshima.catalog.cache.max-entries:256}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        // access-ordered LinkedHashMap = simple LRU; guarded by synchronized(byId)
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<Product>> eldest) {
+                return size() > ProductCatalogCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached active catalog, loading it with {@code loader} on a miss
+     * or once the snapshot has expired.
+     */
+    public List<Product> getActiveCatalog(Supplier<List<Product>> loader) {
+        return activeCatalogEntry(loader).value;
+    }
+
+    /**
+     * Content tag of the active catalog (see {@link #contentTag(Collection)}),
+     * loading the catalog with {@code loader} if it isn't cached. On a hit this is
+     * a field read; the hash is computed once per load.
+     */
+    public String getVersionTag(Supplier<List<Product>> loader) {
+        return activeCatalogEntry(loader).tag;
+    }
+
+    private Entry<List<Product>> activeCatalogEntry(Supplier<List<Product>> loader) {
+        Entry<List<Product>> current = activeCatalog;
+        if (current != null && current.isFresh(ttlNanos) && current.version == version.get()) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        misses.incrementAndGet();
+        long loadVersion = version.get();
+        List<Product> loaded = List.copyOf(loader.get());
+        Entry<List<Product>> entry = new Entry<>(loaded, loadVersion, contentTag(loaded));
+        // if a write invalidated the cache while we were loading, don't keep the stale list
+        if (loadVersion == version.get()) {
+            activeCatalog = entry;
+            // a reload can pick up a change written through another instance
+            if (lastCatalogTag != null && !lastCatalogTag.equals(entry.tag)) {
+                lastModified = Instant.now();
+            }
+            lastCatalogTag = entry.tag;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns a product by id, loading it with {@code loader} on a miss.
+     * Missing products are not cached.
+     */
+    public Optional<Product> getProduct(Long id, Function<Long, Optional<Product>> loader) {
+        synchronized (byId) {
+            Entry<Product> cached = byId.get(id);
+            if (cached != null && cached.isFresh(ttlNanos) && cached.version == version.get()) {
+                hits.incrementAndGet();
+                return Optional.of(cached.value);
+            }
+        }
+
+        misses.incrementAndGet();
+        long loadVersion = version.get();
+        Optional<Product> loaded = loader.apply(id);
+        loaded.ifPresent(product -> {
+            synchronized (byId) {
+                if (loadVersion == version.get()) {
+                    byId.put(id, new Entry<>(product, loadVersion, null));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drops every cached entry and bumps the catalog version.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        lastModified = Instant.now();
+        activeCatalog = null;
+        synchronized (byId) {
+            byId.clear();
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * SHA-256 over the fields a product is served with (id, name, description,
+     * price, active), in list order, cut to 128 bits. The same products give the
+     * same tag on any instance; any change to one of them gives a new tag.
+     */
+    public static String contentTag(Collection<Product> products) {
+        StringBuilder canonical = new StringBuilder();
+        for (Product product : products) {
+            append(canonical, product.getId() == null ? null : product.getId().toString());
+            append(canonical, product.getName());
+            append(canonical, product.getDescription());
+            append(canonical, product.getBasePrice() == null ? null : product.getBasePrice().toPlainString());
+            append(canonical, Boolean.toString(product.isActive()));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // length-prefixed so field boundaries can't shift between products
+    private static void append(StringBuilder canonical, String value) {
+        if (value == null) {
+            canonical.append("-1:");
+        } else {
+            canonical.append(value.length()).append(':').append(value);
+        }
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (byId) {
+            return byId.size();
+        }
+    }
+
+    // cached value plus the time and catalog version it was loaded at, and its content tag (catalog only)
+    private static final class Entry<T> {
+        private final T value;
+        private final long version;
+        private final String tag;
+        private final long loadedAtNanos = System.nanoTime();
+
+        private Entry(T value, long version, String tag) {
+            this.value = value;
+            this.version = version;
+            this.tag = tag;
+        }
+
+        private boolean isFresh(long ttlNanos) {
+            return System.nanoTime() - loadedAtNanos < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link ProductCatalogCache} honest.
+ *
+ * It is registered on {@link Product} with @EntityListeners, and Spring Boot lets
+ * Hibernate build it as a Spring bean, so the cache can be constructor-injected.
+ * Any insert, update or delete of a product (admin edits, DataInitializer seeding,
+ * repository calls in tests) drops the cached catalog.
+ *
+ * The cache is cleared right away and, when a transaction is running, once more
+ * after commit, so a read that raced the write can't put the old catalog back.
+ */
+
+@Component
+public class ProductChangeListener {
+
+    private final ProductCatalogCache catalogCache;
+
+    public ProductChangeListener(ProductCatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onProductWritten(Product product) {
+        catalogCache.invalidate();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    catalogCache.invalidate();
+                }
+            });
+        }
+    }
+}
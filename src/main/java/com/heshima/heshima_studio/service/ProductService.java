@@ -2,6 +2,7 @@ package com.heshima.heshima_studio.service;
 
 import com.heshima.heshima_studio.entity.Product;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +18,16 @@ public interface ProductService {
     List<Product> getAllActiveProducts();
 
     Optional<Product> getProductById(Long id);
+
+    /**
+     * Opaque version of the active catalog, derived from its content: the same
+     * catalog has the same version on every instance and across restarts.
+     * Read it before loading products so a response is never tagged newer than its data.
+     */
+    String getCatalogVersion();
+
+    /**
+     * When this instance last saw the catalog change (or when it started).
+     */
+    Instant getCatalogLastModified();
 }
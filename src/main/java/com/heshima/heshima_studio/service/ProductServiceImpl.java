@@ -4,6 +4,7 @@ import com.heshima.heshima_studio.entity.Product;
 import com.heshima.heshima_studio.repository.ProductRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,23 +14,39 @@ import java.util.Optional;
  * This class sits between the controller and the repository so that
  * any product-related rules (like only showing active services) live
  * in one place instead of being duplicated across controllers.
+ *
+ * Reads go through {@link ProductCatalogCache} first, so the public catalog is
+ * served from memory and only reloads from MySQL after a TTL or a product write.
  */
 
 @Service
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ProductCatalogCache catalogCache) {
         this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
     }
 
     @Override
     public List<Product> getAllActiveProducts() {
-        return productRepository.findByIsActiveTrue();
+        return catalogCache.getActiveCatalog(productRepository::findByIsActiveTrue);
     }
 
     @Override
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return catalogCache.getProduct(id, productRepository::findById);
+    }
+
+    @Override
+    public String getCatalogVersion() {
+        return catalogCache.getVersionTag(productRepository::findByIsActiveTrue);
+    }
+
+    @Override
+    public Instant getCatalogLastModified() {
+        return catalogCache.getLastModified();
     }
 }
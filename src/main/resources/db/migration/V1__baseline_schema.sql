@@ -0,0 +1,77 @@
+-- Baseline: the schema as the last ddl-auto=update build left it, including the
+-- pooled-sequence tables from heshima_studio_id_sequences.sql.
+--
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate), so this script only runs on an empty database.
+
+CREATE TABLE roles (
+    id   bigint       NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE users (
+    id            bigint       NOT NULL,
+    created_at    datetime(6)  NOT NULL,
+    email         varchar(255) NOT NULL,
+    first_name    varchar(255) NOT NULL,
+    last_name     varchar(255) NOT NULL,
+    password_hash varchar(255) NOT NULL,
+    role_id       bigint       DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE products (
+    id          bigint        NOT NULL,
+    base_price  decimal(38,2) NOT NULL,
+    description text,
+    is_active   bit(1)        NOT NULL,
+    name        varchar(255)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- user_id is no longer mapped by Order; it stays so existing rows keep their link.
+CREATE TABLE orders (
+    id              bigint                               NOT NULL,
+    created_at      datetime(6)                          NOT NULL,
+    customer_email  varchar(255)                         NOT NULL,
+    customer_name   varchar(255)                         NOT NULL,
+    notes           text,
+    status          enum('CLOSED','IN_PROGRESS','NEW')   NOT NULL,
+    submission_id   varchar(36)                          DEFAULT NULL,
+    idempotency_key varchar(255)                         DEFAULT NULL,
+    user_id         bigint                               DEFAULT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_submission_id UNIQUE (submission_id),
+    CONSTRAINT uk_orders_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
+
+CREATE TABLE order_items (
+    id          bigint        NOT NULL,
+    final_price decimal(38,2) NOT NULL,
+    quantity    int           DEFAULT NULL,
+    order_id    bigint        NOT NULL,
+    product_id  bigint        NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+-- Hibernate emulates each pooled sequence (allocationSize = 50) with a one-row table on MySQL.
+CREATE TABLE orders_seq (next_val bigint DEFAULT NULL);
+INSERT INTO orders_seq (next_val) VALUES (1);
+
+CREATE TABLE order_items_seq (next_val bigint DEFAULT NULL);
+INSERT INTO order_items_seq (next_val) VALUES (1);
+
+CREATE TABLE products_seq (next_val bigint DEFAULT NULL);
+INSERT INTO products_seq (next_val) VALUES (1);
+
+CREATE TABLE users_seq (next_val bigint DEFAULT NULL);
+INSERT INTO users_seq (next_val) VALUES (1);
@@ -0,0 +1,13 @@
+-- Secondary indexes for the queries we actually run. ddl-auto=update never added these.
+--
+-- orders (created_at, id) already exists from V1 and covers the newest-first admin list
+-- and keyset pages (ORDER BY created_at DESC, id DESC).
+
+-- admin lookups by customer email, newest first within an email
+CREATE INDEX idx_orders_customer_email_created_at ON orders (customer_email, created_at);
+
+-- admin filtering by status, newest first within a status
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
+
+-- public catalog: SELECT ... FROM products WHERE is_active = true
+CREATE INDEX idx_products_is_active ON products (is_active);
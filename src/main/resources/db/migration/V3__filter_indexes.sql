@@ -0,0 +1,10 @@
+-- Indexes for the filtered admin list (see OrderFilterRepositoryImpl). Each one starts
+-- with the filtered column and continues with created_at, so a filtered page is read
+-- in ORDER BY created_at DESC order straight from the index and stops after LIMIT rows.
+--
+-- status is already covered by idx_orders_status_created_at (V2), email by
+-- idx_orders_customer_email_created_at (V2), and a plain created_at range by
+-- idx_orders_created_at_id (V1).
+
+-- product filter: order ids for one product, answered from the index alone
+CREATE INDEX idx_order_items_product_order ON order_items (product_id, order_id);
@@ -0,0 +1,6 @@
+-- Status workflow (see OrderRepository.transitionStatus): an optimistic-lock version,
+-- bumped by every status UPDATE, and the time the status last changed.
+-- Existing rows start at version 0 with no status change recorded.
+
+ALTER TABLE orders ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN status_changed_at datetime(6) DEFAULT NULL;
@@ -0,0 +1,6 @@
+-- Soft delete: a deleted inquiry keeps its row with deleted_at set, and every JPA
+-- query skips it (@SQLRestriction on Order) until InquiryPurger removes it for good.
+-- No index on deleted_at on purpose: nearly every row is NULL, so it would never
+-- help the reads, and the purge walks the primary key instead.
+
+ALTER TABLE orders ADD COLUMN deleted_at datetime(6) DEFAULT NULL;
@@ -0,0 +1,27 @@
+-- Archive for the retention job (InquiryRetentionJob): CLOSED inquiries past the
+-- retention age are copied here with their items and deleted from orders/order_items.
+-- Same columns as the live tables, minus the unique submission/idempotency keys, plus
+-- archived_at. No foreign keys, so archived rows never hold back a product change.
+
+CREATE TABLE orders_archive (
+    id                bigint                               NOT NULL,
+    created_at        datetime(6)                          NOT NULL,
+    customer_email    varchar(255)                         NOT NULL,
+    customer_name     varchar(255)                         NOT NULL,
+    notes             text,
+    status            enum('CLOSED','IN_PROGRESS','NEW')   NOT NULL,
+    status_changed_at datetime(6)                          DEFAULT NULL,
+    archived_at       datetime(6)                          NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items_archive (
+    id          bigint        NOT NULL,
+    final_price decimal(38,2) NOT NULL,
+    quantity    int           DEFAULT NULL,
+    order_id    bigint        NOT NULL,
+    product_id  bigint        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_order_items_archive_order ON order_items_archive (order_id);
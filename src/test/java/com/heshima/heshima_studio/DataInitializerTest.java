@@ -14,9 +14,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -91,8 +93,8 @@ class DataInitializerTest {
         // admin user should be created via the service layer
         verify(userService).createUser(any(User.class));
 
-        // products should be seeded (3 saves)
-        verify(productRepository, times(3)).save(any(Product.class));
+        // products should be seeded in one batch of 3
+        verify(productRepository).saveAll(argThat(products -> products instanceof List<?> list && list.size() == 3));
     }
 
     @Test
@@ -122,5 +124,6 @@ class DataInitializerTest {
 
         // should NOT seed products if count > 0
         verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAll(anyList());
     }
 }
@@ -0,0 +1,93 @@
+package com.heshima.heshima_studio;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Flyway migrations against H2 in MySQL mode, with the MySQL dialect and
+ * ddl-auto=validate, the way production boots.
+ *
+ * If a migration and an entity drift apart, the context fails to start here.
+ * DataInitializer also runs its seeding on the migrated schema, so the
+ * sequence tables and the role/user/product inserts are exercised too.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+class SchemaMigrationTest {
+
+    private static final String INDEX_QUERY = "SELECT DISTINCT index_name FROM information_schema.indexes "
+            + "WHERE table_name = ?";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("migrations apply cleanly and the entities validate against them")
+    void migrationsMatchEntities() {
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(info -> info.getVersion().getVersion())
+                .toList();
+
+        assertThat(applied).containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class)).isPositive();
+    }
+
+    @Test
+    @DisplayName("query and filter indexes exist on orders, order_items, products and the archive")
+    void queryIndexesExist() {
+        assertThat(jdbcTemplate.queryForList(INDEX_QUERY, String.class, "orders"))
+                .contains("idx_orders_created_at_id", "idx_orders_customer_email_created_at",
+                        "idx_orders_status_created_at")
+                .doesNotContain("idx_orders_customer_email");
+        assertThat(jdbcTemplate.queryForList(INDEX_QUERY, String.class, "products"))
+                .contains("idx_products_is_active");
+        assertThat(jdbcTemplate.queryForList(INDEX_QUERY, String.class, "order_items"))
+                .contains("idx_order_items_product_order");
+        assertThat(jdbcTemplate.queryForList(INDEX_QUERY, String.class, "order_items_archive"))
+                .contains("idx_order_items_archive_order");
+    }
+
+    @Test
+    @DisplayName("an existing update-managed database is baselined at V1 and only gets the later migrations")
+    void existingDatabaseIsBaselined() {
+        JdbcDataSource existing = new JdbcDataSource();
+        existing.setURL("jdbc:h2:mem:migration_existing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        existing.setUser("sa");
+
+        // stand-in for a database ddl-auto=update built: the V1 tables, no Flyway history
+        Flyway.configure().dataSource(existing).target("1").load().migrate();
+        new JdbcTemplate(existing).execute("DROP TABLE \"flyway_schema_history\"");
+
+        Flyway upgrade = Flyway.configure()
+                .dataSource(existing)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        upgrade.migrate();
+
+        MigrationInfo[] applied = upgrade.info().applied();
+        assertThat(applied[0].getState()).isEqualTo(MigrationState.BASELINE);
+        assertThat(Arrays.stream(applied).skip(1).map(info -> info.getVersion().getVersion()))
+                .containsExactly("2", "3", "4", "5", "6");
+        assertThat(Arrays.stream(applied).skip(1)).allMatch(info -> info.getState() == MigrationState.SUCCESS);
+    }
+}
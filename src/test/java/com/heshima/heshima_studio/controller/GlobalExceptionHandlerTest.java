@@ -1,5 +1,9 @@
 package com.heshima.heshima_studio.controller;
 
+import com.heshima.heshima_studio.service.IdempotencyKeyConflictException;
+import com.heshima.heshima_studio.service.IdempotencyKeyInProgressException;
+import com.heshima.heshima_studio.service.InquiryQueueFullException;
+import com.heshima.heshima_studio.service.InvalidRequestException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
@@ -28,6 +32,26 @@ class GlobalExceptionHandlerTest {
             throw new IllegalArgumentException("Inquiry (order) not found with id: 999");
         }
 
+        @GetMapping("/throw-invalid")
+        public String throwInvalid() {
+            throw new InvalidRequestException("Invalid inquiry cursor: abc");
+        }
+
+        @GetMapping("/throw-queue-full")
+        public String throwQueueFull() {
+            throw new InquiryQueueFullException(1000, 1);
+        }
+
+        @GetMapping("/throw-idempotency-conflict")
+        public String throwIdempotencyConflict() {
+            throw new IdempotencyKeyConflictException("key-1");
+        }
+
+        @GetMapping("/throw-idempotency-in-progress")
+        public String throwIdempotencyInProgress() {
+            throw new IdempotencyKeyInProgressException("key-1");
+        }
+
         @GetMapping("/throw-generic")
         public String throwGeneric() {
             throw new RuntimeException("Something bad happened");
@@ -50,6 +74,65 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.path").value("/throw-illegal"));
     }
 
+    @Test
+    @DisplayName("InvalidRequestException is mapped to 400 ApiError, not 404")
+    void invalidRequest_isHandledAsBadRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/throw-invalid").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Invalid inquiry cursor: abc"))
+                .andExpect(jsonPath("$.path").value("/throw-invalid"));
+    }
+
+    @Test
+    @DisplayName("InquiryQueueFullException is mapped to 429 with Retry-After")
+    void queueFull_isHandledAsTooManyRequests() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/throw-queue-full").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
+
+    @Test
+    @DisplayName("IdempotencyKeyConflictException is mapped to 422 ApiError")
+    void idempotencyConflict_isHandledAsUnprocessable() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/throw-idempotency-conflict").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422))
+                .andExpect(jsonPath("$.error").value("Unprocessable Entity"));
+    }
+
+    @Test
+    @DisplayName("IdempotencyKeyInProgressException is mapped to 409 ApiError")
+    void idempotencyInProgress_isHandledAsConflict() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/throw-idempotency-in-progress").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("Conflict"));
+    }
+
     @Test
     @DisplayName("Generic Exception is mapped to 500 ApiError")
     void generic_isHandledAsInternalServerError() throws Exception {
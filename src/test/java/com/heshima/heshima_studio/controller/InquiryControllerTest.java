@@ -1,10 +1,23 @@
 package com.heshima.heshima_studio.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryItemResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
 import com.heshima.heshima_studio.controller.dto.InquiryRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeRequest;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.repository.OrderFilter;
+import com.heshima.heshima_studio.service.IdempotencyIndex;
+import com.heshima.heshima_studio.service.InquiryIntakeQueue;
+import com.heshima.heshima_studio.service.InquiryPurger;
 import com.heshima.heshima_studio.service.InquiryService;
+import com.heshima.heshima_studio.service.InvalidRequestException;
+import com.heshima.heshima_studio.service.InquirySubmission;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,12 +28,25 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,16 +72,27 @@ class InquiryControllerTest {
     @Mock
     private InquiryService inquiryService;
 
+    // async intake is off unless a test turns it on
+    @Mock
+    private InquiryIntakeQueue intakeQueue;
+
+    @Mock
+    private InquiryPurger purger;
+
     @BeforeEach
     void setUp() {
         // Initialize Mockito annotations (@Mock fields)
         MockitoAnnotations.openMocks(this);
 
         // Create the controller under test and inject the mock service
-        InquiryController controller = new InquiryController(inquiryService);
+        InquiryController controller = new InquiryController(inquiryService, intakeQueue,
+                new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofSeconds(1)), purger);
 
-        // Build a standalone MockMvc instance around this controller only
-        this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        // Build a standalone MockMvc instance around this controller only,
+        // with the real exception mapping so error statuses can be asserted
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
 
         // Used to convert request objects → JSON
         this.objectMapper = new ObjectMapper();
@@ -112,4 +149,305 @@ class InquiryControllerTest {
                 .andExpect(jsonPath("$.items[0].productName").value("Branding"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/inquiries with items creates one inquiry for all of them")
+    void createInquiry_withItems_returnsCreated() throws Exception {
+        // ---------- Arrange ----------
+        InquiryRequest req = new InquiryRequest();
+        req.setName("Test Person");
+        req.setEmail("test@example.com");
+        req.setMessage("branding and a site");
+        req.setItems(List.of(new InquiryItemRequest(1L, 1), new InquiryItemRequest(2L, 2)));
+
+        InquiryResponse resp = new InquiryResponse(
+                100L,
+                "Test Person",
+                "test@example.com",
+                "branding and a site",
+                LocalDateTime.now(),
+                List.of(
+                        new InquiryItemResponse(1L, "Branding", 1, new BigDecimal("750.00")),
+                        new InquiryItemResponse(2L, "Web Design", 2, new BigDecimal("2400.00"))
+                )
+        );
+
+        when(inquiryService.createInquiry(
+                eq("Test Person"),
+                eq("test@example.com"),
+                eq("branding and a site"),
+                anyList()
+        )).thenReturn(resp);
+
+        // ---------- Act + Assert ----------
+        mockMvc.perform(post("/api/inquiries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].quantity").value(2));
+
+        // the single-product overload is not used when items are sent
+        verify(inquiryService, never()).createInquiry(any(), any(), any(), any(String.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/inquiries with the same Idempotency-Key creates the inquiry once")
+    void createInquiry_sameIdempotencyKey_replaysResponse() throws Exception {
+        InquiryRequest req = new InquiryRequest();
+        req.setProductId(1L);
+        req.setName("Test Person");
+        req.setEmail("test@example.com");
+        req.setMessage("hello");
+
+        InquiryResponse resp = new InquiryResponse(
+                77L, "Test Person", "test@example.com", "hello", LocalDateTime.now(), List.of());
+        when(inquiryService.createInquiry(any(InquiryRequest.class), eq("key-1"))).thenReturn(resp);
+
+        // first click
+        mockMvc.perform(post("/api/inquiries")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.id").value(77));
+
+        // double-click / retry with the same key
+        mockMvc.perform(post("/api/inquiries")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", "/api/inquiries/77"))
+                .andExpect(jsonPath("$.id").value(77));
+
+        verify(inquiryService, times(1)).createInquiry(any(InquiryRequest.class), eq("key-1"));
+    }
+
+    @Test
+    @DisplayName("POST /api/inquiries answers 202 with a status URL when async intake is on")
+    void createInquiry_async_returnsAccepted() throws Exception {
+        InquiryRequest req = new InquiryRequest();
+        req.setProductId(1L);
+        req.setName("Test Person");
+        req.setEmail("test@example.com");
+
+        InquirySubmission submission = new InquirySubmission(
+                "abc-123", "Test Person", "test@example.com", null,
+                List.of(new InquiryItemRequest(1L, 1)), LocalDateTime.now());
+        when(intakeQueue.isEnabled()).thenReturn(true);
+        when(intakeQueue.submit(any(InquiryRequest.class), isNull())).thenReturn(submission);
+
+        mockMvc.perform(post("/api/inquiries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/inquiries/submissions/abc-123"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.statusUrl").value("/api/inquiries/submissions/abc-123"));
+
+        // nothing is written on the request thread
+        verify(inquiryService, never()).createInquiry(any(), any(), any(), any(String.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries/submissions/{id} returns 404 for an unknown submission")
+    void getSubmission_unknown_returns404() throws Exception {
+        when(intakeQueue.getSubmission("nope")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/inquiries/submissions/nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries?limit= returns a page with a next cursor")
+    void getInquiryPage_returnsPage() throws Exception {
+        // ---------- Arrange ----------
+        InquiryResponse resp = new InquiryResponse(
+                7L,
+                "Paged Person",
+                "paged@example.com",
+                "page me",
+                LocalDateTime.now(),
+                List.of()
+        );
+        when(inquiryService.getInquiryPage("abc", 1, OrderFilter.NONE))
+                .thenReturn(new InquiryPageResponse(List.of(resp), "next-token", 1));
+
+        // ---------- Act + Assert ----------
+        mockMvc.perform(get("/api/inquiries").param("limit", "1").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries?limit= passes the triage filters to the service")
+    void getInquiryPage_bindsFilters() throws Exception {
+        OrderFilter expected = new OrderFilter(OrderStatus.IN_PROGRESS, "lead@example.com",
+                LocalDateTime.of(2025, 11, 1, 0, 0), LocalDateTime.of(2025, 12, 1, 0, 0), 3L);
+        when(inquiryService.getInquiryPage(null, 20, expected))
+                .thenReturn(new InquiryPageResponse(List.of(), null, 20));
+
+        mockMvc.perform(get("/api/inquiries")
+                        .param("limit", "20")
+                        .param("status", "IN_PROGRESS")
+                        .param("email", "lead@example.com")
+                        .param("from", "2025-11-01T00:00:00")
+                        .param("to", "2025-12-01T00:00:00")
+                        .param("productId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        verify(inquiryService).getInquiryPage(null, 20, expected);
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries with a malformed cursor answers 400, not 404")
+    void getInquiryPage_badCursor_returns400() throws Exception {
+        when(inquiryService.getInquiryPage("garbage", 20, OrderFilter.NONE))
+                .thenThrow(new InvalidRequestException("Invalid inquiry cursor: garbage"));
+
+        mockMvc.perform(get("/api/inquiries").param("limit", "20").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Invalid inquiry cursor: garbage"));
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries with an empty date range answers 400")
+    void getInquiryPage_emptyDateRange_returns400() throws Exception {
+        mockMvc.perform(get("/api/inquiries")
+                        .param("limit", "20")
+                        .param("from", "2025-12-01T00:00:00")
+                        .param("to", "2025-11-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(inquiryService, never()).getInquiryPage(any(), eq(20), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/inquiries with an unparseable filter value answers 400, not 500")
+    void getInquiryPage_badFilterValue_returns400() throws Exception {
+        mockMvc.perform(get("/api/inquiries").param("limit", "20").param("status", "foo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Invalid value 'foo' for parameter 'status'"));
+        mockMvc.perform(get("/api/inquiries").param("limit", "20").param("from", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value 'yesterday' for parameter 'from'"));
+
+        verify(inquiryService, never()).getInquiryPage(any(), eq(20), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/inquiries with an over-long Idempotency-Key answers 400")
+    void createInquiry_badIdempotencyKey_returns400() throws Exception {
+        InquiryRequest req = new InquiryRequest();
+        req.setName("Key Person");
+        req.setEmail("key@example.com");
+
+        mockMvc.perform(post("/api/inquiries")
+                        .header("Idempotency-Key", "k".repeat(IdempotencyIndex.MAX_KEY_LENGTH + 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+
+        verify(inquiryService, never()).createInquiry(any(InquiryRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/inquiries/status with too many ids answers 400")
+    void changeStatus_bulk_tooManyIds_returns400() throws Exception {
+        when(inquiryService.changeStatus(anyList(), eq(OrderStatus.NEW), eq(OrderStatus.CLOSED)))
+                .thenThrow(new InvalidRequestException("Too many inquiries in one status change (max 1000)"));
+
+        mockMvc.perform(patch("/api/inquiries/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new StatusChangeRequest(List.of(1L, 2L), OrderStatus.NEW, OrderStatus.CLOSED))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/inquiries with no ids answers 400; an unknown single id is still 404")
+    void deleteInquiries_invalid_returns400() throws Exception {
+        when(inquiryService.deleteInquiries(List.of()))
+                .thenThrow(new InvalidRequestException("No inquiry ids given"));
+        doThrow(new IllegalArgumentException("Inquiry (order) not found with id: 99"))
+                .when(inquiryService).deleteInquiry(99L);
+
+        mockMvc.perform(delete("/api/inquiries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new InquiryDeleteRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/inquiries/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/inquiries/{id}/status answers 409 with the current status on a conflict")
+    void changeStatus_single_conflictReturns409() throws Exception {
+        when(inquiryService.changeStatus(List.of(4L), OrderStatus.NEW, OrderStatus.IN_PROGRESS))
+                .thenReturn(new StatusChangeResponse(0, List.of(new StatusChangeResponse.Result(
+                        4L, StatusChangeResponse.Outcome.CONFLICT, OrderStatus.CLOSED))));
+
+        mockMvc.perform(patch("/api/inquiries/4/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new StatusChangeRequest(null, OrderStatus.NEW, OrderStatus.IN_PROGRESS))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.results[0].status").value("CLOSED"));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/inquiries/status passes every id to one service call")
+    void changeStatus_bulk_returnsPerIdOutcomes() throws Exception {
+        when(inquiryService.changeStatus(List.of(1L, 2L), OrderStatus.NEW, OrderStatus.CLOSED))
+                .thenReturn(new StatusChangeResponse(1, List.of(
+                        new StatusChangeResponse.Result(1L, StatusChangeResponse.Outcome.UPDATED, OrderStatus.CLOSED),
+                        new StatusChangeResponse.Result(2L, StatusChangeResponse.Outcome.NOT_FOUND, null))));
+
+        mockMvc.perform(patch("/api/inquiries/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new StatusChangeRequest(List.of(1L, 2L), OrderStatus.NEW, OrderStatus.CLOSED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+
+        verify(inquiryService, times(1)).changeStatus(List.of(1L, 2L), OrderStatus.NEW, OrderStatus.CLOSED);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/inquiries deletes the listed ids in one service call")
+    void deleteInquiries_bulk_returnsCount() throws Exception {
+        when(inquiryService.deleteInquiries(List.of(3L, 4L, 5L))).thenReturn(new InquiryDeleteResponse(2, true));
+
+        mockMvc.perform(delete("/api/inquiries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new InquiryDeleteRequest(List.of(3L, 4L, 5L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.soft").value(true));
+
+        verify(inquiryService, times(1)).deleteInquiries(List.of(3L, 4L, 5L));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/inquiries/deleted purges tombstones instead of deleting an id")
+    void purgeDeletedInquiries_returnsPurgedCount() throws Exception {
+        when(purger.purgeDeleted()).thenReturn(42);
+
+        mockMvc.perform(delete("/api/inquiries/deleted"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(42))
+                .andExpect(jsonPath("$.soft").value(false));
+
+        verify(inquiryService, never()).deleteInquiry(any());
+    }
+}
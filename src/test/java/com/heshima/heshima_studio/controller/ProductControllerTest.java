@@ -1,6 +1,8 @@
 package com.heshima.heshima_studio.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.service.ProductCatalogCache;
 import com.heshima.heshima_studio.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +13,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +39,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  *  - GET /api/products returns the active products from the service
  *  - GET /api/products/{id} returns 200 when the product exists
  *  - GET /api/products/{id} returns 404 when the product is missing
+ *  - a matching If-None-Match gets 304 without the service loading any products
+ *  - a single product is tagged by its own content
+ *  - the catalog is serialized once per version and served gzip-encoded on request
  */
 class ProductControllerTest {
 
@@ -37,12 +50,21 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    // what the mocked service serves; its version is this list's content tag, like ProductServiceImpl's
+    private List<Product> catalog = List.of();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        // catalog version used for ETag / Last-Modified
+        when(productService.getCatalogVersion()).thenAnswer(invocation -> catalogTag());
+        when(productService.getAllActiveProducts()).thenAnswer(invocation -> catalog);
+        when(productService.getCatalogLastModified()).thenReturn(Instant.parse("2025-11-09T12:00:00Z"));
+
         // create the real controller and inject the mocked service
-        ProductController controller = new ProductController(productService);
+        ProductController controller = new ProductController(
+                productService, new CatalogJsonCache(productService, new ObjectMapper(), true));
 
         // build MockMvc around JUST this controller
         this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
@@ -64,7 +86,7 @@ class ProductControllerTest {
         );
 
         // controller calls productService.getAllActiveProducts()
-        when(productService.getAllActiveProducts()).thenReturn(List.of(branding, web));
+        catalog = List.of(branding, web);
 
         // act + assert
         mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_JSON))
@@ -95,6 +117,20 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.basePrice").value(750.00));
     }
 
+    @Test
+    @DisplayName("GET /api/products/{id} is tagged by the product's content and revalidates to 304")
+    void getProductById_contentETag() throws Exception {
+        Product branding = new Product("Branding", "Brand identity package", new BigDecimal("750.00"));
+        when(productService.getProductById(1L)).thenReturn(Optional.of(branding));
+        String etag = "\"product-" + ProductCatalogCache.contentTag(List.of(branding)) + "\"";
+
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("GET /api/products/{id} returns 404 when missing")
     void getProductById_returns404() throws Exception {
@@ -116,5 +152,106 @@ class ProductControllerTest {
         mockMvc.perform(get("/api/products/{id}", missingId))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    @DisplayName("GET /api/products sends a strong ETag and Last-Modified")
+    void getAllProducts_sendsETag() throws Exception {
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-" + catalogTag() + "\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, public"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products returns 304 for a matching If-None-Match without serializing again")
+    void getAllProducts_notModified() throws Exception {
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", "\"catalog-" + catalogTag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, times(1)).getAllActiveProducts();
+    }
+
+    @Test
+    @DisplayName("GET /api/products returns 200 when the catalog version moved on")
+    void getAllProducts_staleETag_returnsBody() throws Exception {
+        mockMvc.perform(get("/api/products").header("If-None-Match", "\"catalog-abc-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-" + catalogTag() + "\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/products serializes the catalog once per version")
+    void getAllProducts_reusesSerializedBytes() throws Exception {
+        catalog = List.of(
+                new Product("Branding", "Brand identity package", new BigDecimal("750.00")));
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Branding"));
+
+        verify(productService, times(1)).getAllActiveProducts();
+    }
+
+    @Test
+    @DisplayName("GET /api/products sends the gzip variant with its own ETag when accepted")
+    void getAllProducts_gzip() throws Exception {
+        catalog = List.of(
+                new Product("Branding", "Brand identity package", new BigDecimal("750.00")));
+
+        byte[] body = mockMvc.perform(get("/api/products").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"catalog-" + catalogTag() + "-gzip\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"name\":\"Branding\""));
+        }
+
+        // revalidating the gzip variant works too
+        mockMvc.perform(get("/api/products")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"catalog-" + catalogTag() + "-gzip\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/products still returns JSON when pre-serialization is off")
+    void getAllProducts_preserializationDisabled() throws Exception {
+        ProductController controller = new ProductController(
+                productService, new CatalogJsonCache(productService, new ObjectMapper(), false));
+        MockMvc plainMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        catalog = List.of(
+                new Product("Branding", "Brand identity package", new BigDecimal("750.00")));
+
+        plainMvc.perform(get("/api/products").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$[0].name").value("Branding"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products tags the bytes with the catalog they were built from, not an older version")
+    void getAllProducts_versionMovesDuringLoad_tagsServedContent() throws Exception {
+        List<Product> before = List.of(new Product("Branding", "Brand identity package", new BigDecimal("750.00")));
+        // the version is read before an edit lands, the list after it
+        when(productService.getCatalogVersion()).thenReturn(ProductCatalogCache.contentTag(before));
+        catalog = List.of(new Product("Branding", "Brand identity package", new BigDecimal("900.00")));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-" + catalogTag() + "\""))
+                .andExpect(jsonPath("$[0].basePrice").value(900.00));
+    }
+
+    private String catalogTag() {
+        return ProductCatalogCache.contentTag(catalog);
+    }
+}
@@ -0,0 +1,172 @@
+package com.heshima.heshima_studio.health;
+
+import com.heshima.heshima_studio.service.InquiryIntakeQueue;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the readiness checks, with the pool, database and queue mocked.
+ *
+ * - connection pool: saturated only when it's both nearly all busy and has waiters
+ * - DB ping: UP when fast, DOWN when slow, failing or hanging
+ * - intake queue: OUT_OF_SERVICE past the fill threshold, UP when the queue is off
+ * - caching: a burst of probes inside the TTL runs the check once
+ */
+class HealthIndicatorsTest {
+
+    private static final Duration NO_CACHE = Duration.ZERO;
+
+    @Test
+    @DisplayName("pool is ready while connections are free or nobody is waiting")
+    void connectionPool_busyButNoWaiters_isUp() throws SQLException {
+        DataSource dataSource = hikari(10, 10, 0);
+
+        Health health = new ConnectionPoolHealthIndicator(dataSource, NO_CACHE, 0.9, 0).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("active", 10).containsEntry("waiting", 0);
+    }
+
+    @Test
+    @DisplayName("pool is out of service when it is saturated and requests are queuing")
+    void connectionPool_saturatedWithWaiters_isOutOfService() throws SQLException {
+        DataSource dataSource = hikari(10, 10, 3);
+
+        Health health = new ConnectionPoolHealthIndicator(dataSource, NO_CACHE, 0.9, 0).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("usage", 1.0);
+    }
+
+    @Test
+    @DisplayName("fast DB ping is UP and reports its latency")
+    void databasePing_fast_isUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        DatabasePingHealthIndicator indicator = new DatabasePingHealthIndicator(
+                dataSource, NO_CACHE, Duration.ofSeconds(1), Duration.ofSeconds(2));
+        Health health = indicator.health();
+        indicator.destroy();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsKey("latencyMs");
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("DB ping is DOWN when the database errors or is slower than max-latency")
+    void databasePing_errorOrSlow_isDown() throws Exception {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Communications link failure"));
+        DatabasePingHealthIndicator failingIndicator = new DatabasePingHealthIndicator(
+                failing, NO_CACHE, Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+        DataSource slow = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(slow.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(60);
+            return connection;
+        });
+        when(connection.isValid(anyInt())).thenReturn(true);
+        DatabasePingHealthIndicator slowIndicator = new DatabasePingHealthIndicator(
+                slow, NO_CACHE, Duration.ofMillis(10), Duration.ofSeconds(2));
+
+        assertThat(failingIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        Health slowHealth = slowIndicator.health();
+        assertThat(slowHealth.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(slowHealth.getDetails()).containsEntry("reason", "slower than 10ms");
+
+        failingIndicator.destroy();
+        slowIndicator.destroy();
+    }
+
+    @Test
+    @DisplayName("a hanging DB ping times out as DOWN and is not started twice")
+    void databasePing_hanging_timesOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DataSource hanging = mock(DataSource.class);
+        when(hanging.getConnection()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new SQLException("gave up");
+        });
+        DatabasePingHealthIndicator indicator = new DatabasePingHealthIndicator(
+                hanging, NO_CACHE, Duration.ofMillis(500), Duration.ofMillis(50));
+
+        Health first = indicator.health();
+        Health second = indicator.health();
+        release.countDown();
+        indicator.destroy();
+
+        assertThat(first.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(first.getDetails()).containsEntry("reason", "no answer within 50ms");
+        assertThat(second.getDetails()).containsEntry("reason", "previous ping still running");
+        verify(hanging, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("intake queue goes out of service past max-fill and is UP when disabled")
+    void intakeQueue_fillThreshold() {
+        InquiryIntakeQueue queue = mock(InquiryIntakeQueue.class);
+        when(queue.isEnabled()).thenReturn(true);
+        when(queue.getCapacity()).thenReturn(100);
+        when(queue.getQueuedCount()).thenReturn(10, 85);
+        IntakeQueueHealthIndicator indicator = new IntakeQueueHealthIndicator(queue, NO_CACHE, 0.8);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        InquiryIntakeQueue disabled = mock(InquiryIntakeQueue.class);
+        assertThat(new IntakeQueueHealthIndicator(disabled, NO_CACHE, 0.8).health().getStatus())
+                .isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("probes inside the cache TTL reuse the last result")
+    void cachedIndicator_runsCheckOncePerTtl() {
+        InquiryIntakeQueue queue = mock(InquiryIntakeQueue.class);
+        when(queue.isEnabled()).thenReturn(true);
+        when(queue.getCapacity()).thenReturn(100);
+        IntakeQueueHealthIndicator indicator = new IntakeQueueHealthIndicator(queue, Duration.ofMinutes(1), 0.8);
+
+        for (int i = 0; i < 20; i++) {
+            indicator.health();
+        }
+
+        verify(queue, times(1)).getQueuedCount();
+    }
+
+    private static DataSource hikari(int max, int active, int waiting) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        when(hikari.getMaximumPoolSize()).thenReturn(max);
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getIdleConnections()).thenReturn(max - active);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(waiting);
+        return dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package com.heshima.heshima_studio.health;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The probe endpoints as a load balancer sees them.
+ *
+ * - liveness and readiness answer anonymously with just a status
+ * - readiness runs our three checks against the real H2 pool; the admin sees them
+ *
+ * The test application.properties replaces the main one, so the probe groups are
+ * configured here the same way as in production.
+ */
+@SpringBootTest(properties = {
+        "management.endpoint.health.probes.enabled=true",
+        "management.endpoint.health.group.liveness.include=livenessState",
+        "management.endpoint.health.group.readiness.include=readinessState,connectionPool,databasePing,intakeQueue",
+        "management.endpoint.health.show-details=when-authorized",
+        "management.endpoint.health.roles=ADMIN"
+})
+@AutoConfigureMockMvc
+class HealthProbesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("liveness and readiness are public and UP on a healthy node")
+    void probes_arePublicAndUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("admin sees the individual readiness checks")
+    void readiness_showsChecksToAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness")
+                        .with(httpBasic("admin@heshima.studio", "password123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.connectionPool.status").value("UP"))
+                .andExpect(jsonPath("$.components.databasePing.status").value("UP"))
+                .andExpect(jsonPath("$.components.databasePing.details.latencyMs").isNumber())
+                .andExpect(jsonPath("$.components.intakeQueue.details.enabled").value(false));
+    }
+}
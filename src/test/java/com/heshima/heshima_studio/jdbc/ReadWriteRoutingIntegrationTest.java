@@ -0,0 +1,193 @@
+package com.heshima.heshima_studio.jdbc;
+
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import com.heshima.heshima_studio.service.InquiryService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read/write routing against two H2 databases, one as primary and one as replica.
+ *
+ * There is no real replication between them, which is what makes routing visible:
+ * a row inserted only into the replica can only be found by a query that was sent
+ * there, and a write that shows up only in the primary went there.
+ *
+ * Before each test the primary's schema (built by Hibernate) is copied into the
+ * replica, plus a replica_lag table the lag-query reads so tests can fake lag.
+ *
+ * ReadThenWriteController runs a read-only call and then a write inside one web
+ * request, the case open-in-view would send to the replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+        "heshima.datasource.replica.enabled=true",
+        "heshima.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+        "heshima.datasource.replica.username=sa",
+        "heshima.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+        "heshima.datasource.replica.max-lag=5s",
+        // tests run the checks themselves
+        "heshima.datasource.replica.check-interval=1h",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+@Import(ReadWriteRoutingIntegrationTest.ReadThenWriteController.class)
+class ReadWriteRoutingIntegrationTest {
+
+    private static final long REPLICA_ONLY_ORDER_ID = 900_001L;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaMonitor replicaMonitor;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadThenWriteController readThenWrite;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    // one request: a read-only service call (replica), then a write (must be the primary)
+    @RestController
+    static class ReadThenWriteController {
+
+        private final InquiryService inquiryService;
+        private volatile Long createdId;
+
+        ReadThenWriteController(InquiryService inquiryService) {
+            this.inquiryService = inquiryService;
+        }
+
+        @PostMapping("/test/read-then-write")
+        public void readThenWrite() {
+            inquiryService.getInquiryById(REPLICA_ONLY_ORDER_ID).orElseThrow();
+            createdId = inquiryService.createInquiry((Long) null, "Same Request", "same@example.com", "hi").getId();
+        }
+    }
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        for (String statement : primaryJdbc.queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+        replicaJdbc.execute("CREATE TABLE replica_lag (lag_seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+        replicaJdbc.update("INSERT INTO orders (id, customer_name, customer_email, status, created_at, version) "
+                + "VALUES (?, 'Replica Only', 'replica@example.com', 'NEW', CURRENT_TIMESTAMP, 0)", REPLICA_ONLY_ORDER_ID);
+
+        assertThat(replicaMonitor.check()).isTrue();
+    }
+
+    @Test
+    @DisplayName("application DataSource is timed and still unwraps to the primary pool")
+    void dataSource_unwrapsToPrimaryPool() throws Exception {
+        assertThat(dataSource).isInstanceOf(TimingDataSource.class);
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isSameAs(primary);
+    }
+
+    @Test
+    @DisplayName("read-only service and repository reads are served by the replica")
+    void readOnlyReads_goToReplica() {
+        assertThat(inquiryService.getInquiryById(REPLICA_ONLY_ORDER_ID))
+                .map(InquiryResponse::getCustomerName)
+                .hasValue("Replica Only");
+        assertThat(inquiryService.getAllInquiries())
+                .extracting(InquiryResponse::getId)
+                .contains(REPLICA_ONLY_ORDER_ID);
+        // the seeded products only exist on the primary
+        assertThat(productRepository.findByIsActiveTrue()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("writes go to the primary")
+    void writes_goToPrimary() {
+        InquiryResponse created = inquiryService.createInquiry((Long) null, "Writer", "writer@example.com", "hello");
+
+        String countById = "SELECT COUNT(*) FROM orders WHERE id = ?";
+        assertThat(primaryJdbc.queryForObject(countById, Integer.class, created.getId())).isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject(countById, Integer.class, created.getId())).isZero();
+
+        inquiryService.deleteInquiry(created.getId());
+        assertThat(primaryJdbc.queryForObject(countById, Integer.class, created.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("reads fall back to the primary while the replica lags, and return once it catches up")
+    void laggingReplica_fallsBackToPrimary() {
+        replicaJdbc.update("UPDATE replica_lag SET lag_seconds = 60");
+        assertThat(replicaMonitor.check()).isFalse();
+        assertThat(replicaMonitor.getLagSeconds()).isEqualTo(60L);
+
+        assertThat(inquiryService.getInquiryById(REPLICA_ONLY_ORDER_ID)).isEmpty();
+        assertThat(productRepository.findByIsActiveTrue()).isNotEmpty();
+
+        replicaJdbc.update("UPDATE replica_lag SET lag_seconds = 1");
+        assertThat(replicaMonitor.check()).isTrue();
+        assertThat(inquiryService.getInquiryById(REPLICA_ONLY_ORDER_ID)).isPresent();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("a write after a replica read in the same web request still goes to the primary")
+    void readThenWrite_inOneRequest_writesToPrimary() throws Exception {
+        mockMvc.perform(post("/test/read-then-write")).andExpect(status().isOk());
+
+        Long id = readThenWrite.createdId;
+        String countById = "SELECT COUNT(*) FROM orders WHERE id = ?";
+        assertThat(primaryJdbc.queryForObject(countById, Integer.class, id)).isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject(countById, Integer.class, id)).isZero();
+
+        inquiryService.deleteInquiry(id);
+    }
+
+    @Test
+    @DisplayName("routing refuses to start with open-in-view on")
+    void openInView_failsStartup() {
+        assertThatThrownBy(() -> new ReadWriteRoutingConfig(true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.jpa.open-in-view=false");
+    }
+}
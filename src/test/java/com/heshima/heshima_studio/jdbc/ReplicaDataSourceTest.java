@@ -0,0 +1,97 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the replica fallback and lag parsing, with JDBC mocked.
+ */
+class ReplicaDataSourceTest {
+
+    @Test
+    @DisplayName("uses the replica while it is healthy")
+    void getConnection_healthyReplica() throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        DataSource primary = mock(DataSource.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.isValid(anyInt())).thenReturn(true);
+        ReplicaMonitor monitor = new ReplicaMonitor(replica, "", Duration.ofSeconds(5), Duration.ofSeconds(5));
+        monitor.check();
+
+        Connection connection = new ReplicaDataSource(replica, primary, monitor).getConnection();
+
+        assertThat(connection).isSameAs(replicaConnection);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("a failed replica connection falls back to the primary and marks the replica down")
+    void getConnection_replicaFails_usesPrimary() throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        DataSource primary = mock(DataSource.class);
+        Connection replicaConnection = mock(Connection.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(replica.getConnection())
+                .thenReturn(replicaConnection)
+                .thenThrow(new SQLTransientConnectionException("replica-pool - Connection is not available"));
+        when(replicaConnection.isValid(anyInt())).thenReturn(true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaMonitor monitor = new ReplicaMonitor(replica, "", Duration.ofSeconds(5), Duration.ofSeconds(5));
+        monitor.check();
+
+        ReplicaDataSource dataSource = new ReplicaDataSource(replica, primary, monitor);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(monitor.isAvailable()).isFalse();
+        // no more replica attempts until the next successful check
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("monitor starts on the primary until a check has passed")
+    void monitor_unavailableUntilChecked() {
+        ReplicaMonitor monitor = new ReplicaMonitor(mock(DataSource.class), "", Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        assertThat(monitor.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("lag is read from Seconds_Behind_Source, and a NULL lag means replication stopped")
+    void readLag_showReplicaStatus() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn("Source_Host");
+        when(metaData.getColumnLabel(3)).thenReturn("Seconds_Behind_Source");
+        when(rs.getLong(3)).thenReturn(7L);
+
+        assertThat(ReplicaMonitor.readLag(rs)).isEqualTo(7L);
+
+        when(rs.wasNull()).thenReturn(true);
+        assertThat(ReplicaMonitor.readLag(rs)).isNull();
+
+        ResultSet empty = mock(ResultSet.class);
+        assertThat(ReplicaMonitor.readLag(empty)).isNull();
+    }
+}
@@ -0,0 +1,87 @@
+package com.heshima.heshima_studio.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SlowQueryLog: what gets logged, how statements are grouped,
+ * and the top-N ordering behind /api/admin/slow-queries.
+ */
+class SlowQueryLogTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Test
+    @DisplayName("only statements over the threshold are logged when sampling is off")
+    void record_logsOnlySlowStatements() {
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ofMillis(200), 0, 100);
+
+        assertThat(log.record("select * from products", FAST, false)).isFalse();
+        assertThat(log.record("select * from products", SLOW, false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a sample rate of 1 logs every statement")
+    void record_sampleRateOne_logsEverything() {
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ofMillis(200), 1, 100);
+
+        assertThat(log.record("select * from products", FAST, false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("sample rate outside 0..1 is rejected")
+    void constructor_rejectsBadSampleRate() {
+        assertThatThrownBy(() -> new SlowQueryLog(true, Duration.ofMillis(200), 1.5, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("literals, IN lists and whitespace are normalized away")
+    void normalizeSql_collapsesLiteralsAndInLists() {
+        assertThat(SlowQueryLog.normalizeSql("select p1_0.id from products p1_0 where p1_0.id in (?, ?,?)"))
+                .isEqualTo("select p1_0.id from products p1_0 where p1_0.id in (?...)");
+        assertThat(SlowQueryLog.normalizeSql("delete from orders\n  where id = 42 and name = 'O''Brien'"))
+                .isEqualTo("delete from orders where id = ? and name = ?");
+    }
+
+    @Test
+    @DisplayName("slowest orders statements by their worst execution and merges equal ones")
+    void slowest_ordersByMax() {
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ofMillis(200), 0, 100);
+        log.record("select * from products where id = 1", FAST, false);
+        log.record("select * from products where id = 2", SLOW, false);
+        log.record("select * from orders", TimeUnit.MILLISECONDS.toNanos(50), false);
+
+        var slowest = log.slowest(10);
+
+        assertThat(slowest).extracting(SlowQueryLog.StatementStats::getSql)
+                .containsExactly("select * from products where id = ?", "select * from orders");
+        assertThat(slowest.get(0).getCount()).isEqualTo(2);
+        assertThat(slowest.get(0).getSlowCount()).isEqualTo(1);
+        assertThat(slowest.get(0).getMaxNanos()).isEqualTo(SLOW);
+        assertThat(log.slowest(1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("the statement table is capped; overflow is counted, and reset clears it")
+    void record_capsDistinctStatements() {
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ofMillis(200), 0, 2);
+        log.record("select a from t", FAST, false);
+        log.record("select b from t", FAST, false);
+        log.record("select c from t", FAST, false);
+
+        assertThat(log.slowest(10)).hasSize(2);
+        assertThat(log.getUntrackedCount()).isEqualTo(1);
+
+        log.reset();
+        assertThat(log.slowest(10)).isEmpty();
+        assertThat(log.getUntrackedCount()).isZero();
+    }
+}
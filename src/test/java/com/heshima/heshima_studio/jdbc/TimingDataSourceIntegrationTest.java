@@ -0,0 +1,71 @@
+package com.heshima.heshima_studio.jdbc;
+
+import com.heshima.heshima_studio.repository.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The real DataSource is wrapped, statements end up in the slow-query table,
+ * and the admin endpoint serves it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TimingDataSourceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("DataSource is wrapped but still unwraps to the Hikari pool")
+    void dataSource_isTimedAndUnwrapsToHikari() throws Exception {
+        assertThat(dataSource).isInstanceOf(TimingDataSource.class);
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isInstanceOf(HikariDataSource.class);
+    }
+
+    @Test
+    @DisplayName("repository queries are timed and listed for the admin")
+    void queries_areRecordedAndListed() throws Exception {
+        productRepository.findByIsActiveTrue();
+
+        assertThat(slowQueryLog.slowest(100))
+                .anySatisfy(stats -> assertThat(stats.getSql()).containsIgnoringCase("from products"));
+
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "5")
+                        .with(httpBasic("admin@heshima.studio", "password123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sql").isString())
+                .andExpect(jsonPath("$[0].count").isNumber())
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(5)));
+    }
+
+    @Test
+    @DisplayName("slow-query endpoint is admin-only")
+    void slowQueries_requireAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,136 @@
+package com.heshima.heshima_studio.metrics;
+
+import com.heshima.heshima_studio.repository.ProductRepository;
+import com.heshima.heshima_studio.service.InquiryService;
+import com.heshima.heshima_studio.service.ProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the metrics wiring end to end.
+ *
+ * - Service calls are timed with success/error outcomes (CallMetricsAspect).
+ * - Repository calls record how many rows came back.
+ * - /actuator/prometheus serves all of it (plus Boot's HTTP and repository timers)
+ *   to the admin, and nobody else.
+ *
+ * AutoConfigureObservability keeps the Prometheus registry that tests normally switch off;
+ * the test application.properties replaces the main one, so exposure is repeated here.
+ */
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class CallMetricsAspectTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("service methods are timed with their outcome")
+    void serviceCalls_areTimed() {
+        productService.getAllActiveProducts();
+        assertThatThrownBy(() -> inquiryService.deleteInquiry(-42L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Timer ok = registry.find(CallMetricsAspect.SERVICE_CALLS)
+                .tags("service", "ProductServiceImpl", "method", "getAllActiveProducts", "outcome", "SUCCESS")
+                .timer();
+        Timer failed = registry.find(CallMetricsAspect.SERVICE_CALLS)
+                .tags("service", "InquiryServiceImpl", "method", "deleteInquiry",
+                        "outcome", "ERROR", "exception", "IllegalArgumentException")
+                .timer();
+
+        assertThat(ok).isNotNull();
+        assertThat(ok.count()).isPositive();
+        assertThat(failed).isNotNull();
+        assertThat(failed.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("repository methods record the number of rows returned")
+    void repositoryCalls_recordRows() {
+        int active = productRepository.findByIsActiveTrue().size();
+
+        DistributionSummary rows = registry.find(CallMetricsAspect.REPOSITORY_ROWS)
+                .tags("repository", "ProductRepository", "method", "findByIsActiveTrue")
+                .summary();
+
+        assertThat(rows).isNotNull();
+        assertThat(rows.count()).isPositive();
+        assertThat(rows.max()).isGreaterThanOrEqualTo(active);
+    }
+
+    @Test
+    @DisplayName("row counting understands collections, pages and Optionals, and skips scalars")
+    void rows_byResultType() {
+        assertThat(CallMetricsAspect.rows(List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(CallMetricsAspect.rows(new PageImpl<>(List.of("a", "b")))).isEqualTo(2);
+        assertThat(CallMetricsAspect.rows(Optional.of("x"))).isEqualTo(1);
+        assertThat(CallMetricsAspect.rows(Optional.empty())).isZero();
+        assertThat(CallMetricsAspect.rows(null)).isZero();
+        assertThat(CallMetricsAspect.rows(new Object())).isEqualTo(1);
+        assertThat(CallMetricsAspect.rows(5L)).isNegative();
+        assertThat(CallMetricsAspect.rows(true)).isNegative();
+    }
+
+    @Test
+    @DisplayName("connection pool waits are measured even though the DataSource is wrapped")
+    void connectionPool_acquireTimeIsMeasured() {
+        productRepository.findByIsActiveTrue();
+
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+
+        assertThat(acquire).isNotNull();
+        assertThat(acquire.count()).isPositive();
+        assertThat(registry.find("hikaricp.connections.timeout").counter()).isNotNull();
+        assertThat(registry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Prometheus endpoint is admin-only and exposes controller, service and repository metrics")
+    void prometheus_isAdminOnly() throws Exception {
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin@heshima.studio", "password123")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_count")))
+                .andExpect(content().string(containsString("heshima_service_calls_seconds_count")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("heshima_repository_rows")));
+    }
+}
@@ -0,0 +1,179 @@
+package com.heshima.heshima_studio.repository;
+
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderItem;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.entity.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the filtered admin list on H2, against the schema built by the
+ * Flyway migrations (H2 in MySQL mode, MySQL dialect, like SchemaMigrationTest).
+ *
+ * - Seeds a few hundred orders so the optimizer has a reason to prefer an index,
+ *   then runs ANALYZE.
+ * - Captures the SQL Hibernate generates for each filter through a
+ *   StatementInspector, and runs EXPLAIN on it with the same parameters.
+ * - Asserts the plan reads through the index meant for that filter instead of
+ *   scanning the table.
+ *
+ * If someone rewrites the query so it can't use the index (a function on the
+ * column, an OR with a null check), or drops the index, these fail.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.heshima.heshima_studio.repository.OrderFilterQueryPlanTest$CapturingInspector"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderFilterQueryPlanTest {
+
+    private static final int ORDER_COUNT = 400;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long productId;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Product> products = new ArrayList<>();
+            for (int p = 0; p < 20; p++) {
+                products.add(productRepository.save(new Product("Plan Product " + p, null, new BigDecimal("10.00"))));
+            }
+            productId = products.get(0).getId();
+
+            OrderStatus[] statuses = OrderStatus.values();
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < ORDER_COUNT; i++) {
+                Order order = new Order();
+                order.setCustomerName("Lead " + i);
+                order.setCustomerEmail("lead" + (i % 100) + "@example.com");
+                order.setStatus(statuses[i % statuses.length]);
+                order.setCreatedAt(BASE.plusHours(i));
+                Product product = products.get(i % products.size());
+                order.addItem(new OrderItem(product, 1, product.getBasePrice()));
+                orders.add(order);
+            }
+            orderRepository.saveAll(orders);
+        });
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("status filter seeks idx_orders_status_created_at")
+    void statusFilter_usesStatusIndex() {
+        String plan = explain(new OrderFilter(OrderStatus.IN_PROGRESS, null, null, null, null));
+
+        assertThat(plan).contains("idx_orders_status_created_at").doesNotContain("orders.tableScan");
+    }
+
+    @Test
+    @DisplayName("email filter seeks idx_orders_customer_email_created_at")
+    void emailFilter_usesEmailIndex() {
+        String plan = explain(new OrderFilter(null, "lead7@example.com", null, null, null));
+
+        assertThat(plan).contains("idx_orders_customer_email_created_at").doesNotContain("orders.tableScan");
+    }
+
+    @Test
+    @DisplayName("created-at range seeks idx_orders_created_at_id")
+    void dateRange_usesCreatedAtIndex() {
+        String plan = explain(new OrderFilter(null, null, BASE.plusDays(3), BASE.plusDays(4), null));
+
+        assertThat(plan).contains("idx_orders_created_at_id").doesNotContain("orders.tableScan");
+    }
+
+    @Test
+    @DisplayName("product filter reads order ids from idx_order_items_product_order")
+    void productFilter_usesOrderItemsIndex() {
+        String plan = explain(new OrderFilter(null, null, null, null, productId));
+
+        assertThat(plan).contains("idx_order_items_product_order").doesNotContain("order_items.tableScan");
+    }
+
+    @Test
+    @DisplayName("combined filters still return the right rows")
+    void combinedFilters_returnMatchingIds() {
+        List<Long> ids = orderRepository.findFilteredIds(
+                new OrderFilter(OrderStatus.NEW, "lead0@example.com", null, null, null), null, null, Limit.of(10));
+
+        // i % 3 == 0 (NEW) and i % 100 == 0: i = 0, 300
+        assertThat(ids).hasSize(2);
+    }
+
+    /**
+     * Runs the filtered id query once, captures its SQL and returns the EXPLAIN
+     * output for it with the same parameter values, in order.
+     */
+    private String explain(OrderFilter filter) {
+        CapturingInspector.statements.clear();
+        orderRepository.findFilteredIds(filter, null, null, Limit.of(21));
+        String sql = CapturingInspector.statements.stream()
+                .filter(statement -> statement.contains("order by"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        List<Object> parameters = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            parameters.add(filter.getStatus().name());
+        }
+        if (filter.getCustomerEmail() != null) {
+            parameters.add(filter.getCustomerEmail());
+        }
+        if (filter.getCreatedFrom() != null) {
+            parameters.add(filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            parameters.add(filter.getCreatedTo());
+        }
+        if (filter.getProductId() != null) {
+            parameters.add(filter.getProductId());
+        }
+        parameters.add(21);
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters.toArray()));
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
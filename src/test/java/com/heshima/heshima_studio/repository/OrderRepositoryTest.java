@@ -1,13 +1,19 @@
 package com.heshima.heshima_studio.repository;
 
 import com.heshima.heshima_studio.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,8 +25,13 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Order has a @OneToMany to OrderItem with cascade = ALL, so we want to
  *   verify that saving the Order also persists its items.
  * - We also verify we can update the Order (e.g. change status).
+ * - The batching test counts statements through Hibernate statistics, which are
+ *   enabled here only (same context as InquiryServiceImplQueryCountTest).
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statistics;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
 @Transactional
 public class OrderRepositoryTest {
 
@@ -33,6 +44,9 @@ public class OrderRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("save() should persist an order with one order item")
     void save_shouldPersistOrderWithItem() {
@@ -152,4 +166,96 @@ public class OrderRepositoryTest {
         // and because of cascade/orphanRemoval, item should be gone too
         assertThat(orderItemRepository.findById(itemId)).isEmpty();
     }
+
+    @Test
+    @DisplayName("keyset queries page newest-first and break createdAt ties by id")
+    void keysetPaging_walksNewestFirst() {
+        // arrange: two orders share a timestamp so the id tie-breaker matters
+        LocalDateTime sameTime = LocalDateTime.of(2025, 11, 9, 12, 0);
+        Order first = saveOrderAt("First", sameTime);
+        Order second = saveOrderAt("Second", sameTime);
+        Order oldest = saveOrderAt("Oldest", sameTime.minusDays(1));
+
+        // act: first page of 2, then the page after the last row of it
+        List<Long> page1 = orderRepository.findNewestIds(Limit.of(2));
+        List<Long> page2 = orderRepository.findIdsOlderThan(sameTime, first.getId(), Limit.of(2));
+
+        // assert
+        assertThat(page1).containsExactly(second.getId(), first.getId());
+        assertThat(page2).containsExactly(oldest.getId());
+    }
+
+    @Test
+    @DisplayName("an order with many items is inserted in a constant number of JDBC statements")
+    void saveOrderWithManyItems_isBatched() {
+        // arrange: one order with 20 lines
+        Product product = productRepository.findAll().stream().findFirst()
+                .orElseGet(() -> productRepository.save(
+                        new Product("Temp Product 4", "For batch test", new BigDecimal("10.00")))
+                );
+        Order order = new Order();
+        order.setCustomerName("Bulk Customer");
+        order.setCustomerEmail("bulk@example.com");
+        order.setStatus(OrderStatus.NEW);
+        for (int i = 0; i < 20; i++) {
+            order.addItem(new OrderItem(product, 1, product.getBasePrice()));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // act
+        orderRepository.saveAndFlush(order);
+
+        // assert: at most one sequence call per table plus one (batched) INSERT per table,
+        // instead of 21 separate INSERTs
+        assertThat(order.getItems()).allSatisfy(i -> assertThat(i.getId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("findFilteredIds combines filters with AND and keeps keyset order")
+    void findFilteredIds_appliesEachFilter() {
+        // arrange: a date window of their own, so other tests' orders don't show up
+        LocalDateTime base = LocalDateTime.of(2001, 3, 1, 9, 0);
+        Product product = productRepository.save(new Product("Filter Product", "filters", new BigDecimal("5.00")));
+        Order newWithProduct = saveOrderAt("Filter", base, OrderStatus.NEW);
+        newWithProduct.addItem(new OrderItem(product, 1, product.getBasePrice()));
+        Order inProgress = saveOrderAt("Filter", base.plusHours(1), OrderStatus.IN_PROGRESS);
+        Order closed = saveOrderAt("Other", base.plusHours(2), OrderStatus.CLOSED);
+        Order newest = saveOrderAt("Filter", base.plusHours(3), OrderStatus.NEW);
+        orderRepository.flush();
+        LocalDateTime from = base;
+        LocalDateTime to = base.plusDays(1);
+
+        // act + assert
+        assertThat(orderRepository.findFilteredIds(new OrderFilter(null, null, from, to, null), null, null, Limit.unlimited()))
+                .containsExactly(newest.getId(), closed.getId(), inProgress.getId(), newWithProduct.getId());
+        assertThat(orderRepository.findFilteredIds(
+                new OrderFilter(OrderStatus.NEW, null, from, to, null), null, null, Limit.unlimited()))
+                .containsExactly(newest.getId(), newWithProduct.getId());
+        assertThat(orderRepository.findFilteredIds(
+                new OrderFilter(null, "filter@example.com", from, to, null), null, null, Limit.of(2)))
+                .containsExactly(newest.getId(), inProgress.getId());
+        assertThat(orderRepository.findFilteredIds(
+                new OrderFilter(null, null, null, null, product.getId()), null, null, Limit.unlimited()))
+                .containsExactly(newWithProduct.getId());
+        // next page after "inProgress" with the same filter
+        assertThat(orderRepository.findFilteredIds(new OrderFilter(null, null, from, to, null),
+                inProgress.getCreatedAt(), inProgress.getId(), Limit.of(10)))
+                .containsExactly(newWithProduct.getId());
+    }
+
+    private Order saveOrderAt(String name, LocalDateTime createdAt) {
+        return saveOrderAt(name, createdAt, OrderStatus.NEW);
+    }
+
+    private Order saveOrderAt(String name, LocalDateTime createdAt, OrderStatus status) {
+        Order order = new Order();
+        order.setCustomerName(name);
+        order.setCustomerEmail(name.toLowerCase() + "@example.com");
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        return orderRepository.save(order);
+    }
 }
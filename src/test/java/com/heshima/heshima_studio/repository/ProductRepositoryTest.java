@@ -1,6 +1,7 @@
 package com.heshima.heshima_studio.repository;
 
 import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.service.ProductCatalogCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,9 @@ public class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
     /**
      * Goal: verify that a Product can be saved and that JPA assigns an ID.
      * This shows "C" in CRUD (Create).
@@ -121,4 +125,22 @@ public class ProductRepositoryTest {
         Optional<Product> deleted = productRepository.findById(saved.getId());
         assertThat(deleted).isEmpty();
     }
+
+    /**
+     * Goal: verify that writing a product clears the public catalog cache.
+     * ProductChangeListener is a JPA entity listener, so this only works if
+     * Hibernate picked it up as a Spring bean.
+     */
+    @Test
+    @DisplayName("saving a product invalidates the catalog cache")
+    void save_invalidatesCatalogCache() {
+        // arrange
+        long versionBefore = catalogCache.getVersion();
+
+        // act
+        productRepository.saveAndFlush(new Product("Cache Buster", "desc", new BigDecimal("5.00")));
+
+        // assert
+        assertThat(catalogCache.getVersion()).isGreaterThan(versionBefore);
+    }
 }
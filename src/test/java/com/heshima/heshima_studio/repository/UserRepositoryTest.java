@@ -2,12 +2,14 @@ package com.heshima.heshima_studio.repository;
 
 import com.heshima.heshima_studio.entity.Role;
 import com.heshima.heshima_studio.entity.User;
+import com.heshima.heshima_studio.security.AuthenticationCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +29,9 @@ public class UserRepositoryTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     @Test
     @DisplayName("save() should persist a new user with a role")
     void save_shouldPersistUser() {
@@ -99,4 +104,22 @@ public class UserRepositoryTest {
         // assert
         assertThat(updated.getFirstName()).isEqualTo("New");
     }
+
+    @Test
+    @DisplayName("updating a user clears cached Basic-auth credentials")
+    void updateUser_invalidatesAuthenticationCache() {
+        // arrange: a saved user and one cached credential
+        Role adminRole = roleRepository.findByName("ADMIN").orElseThrow();
+        User saved = userRepository.saveAndFlush(new User(
+                "Cache", "User", "cache-me@heshima.studio", "{noop}old", adminRole));
+        authenticationCache.put(authenticationCache.keyFor("cache-me@heshima.studio", "old"),
+                "cache-me@heshima.studio", List.of());
+
+        // act: "reset" the password
+        saved.setPasswordHash("{noop}new");
+        userRepository.saveAndFlush(saved);
+
+        // assert
+        assertThat(authenticationCache.size()).isZero();
+    }
 }
@@ -0,0 +1,105 @@
+package com.heshima.heshima_studio.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingAuthenticationProvider + AuthenticationCache.
+ *
+ * Verifies:
+ * - a verified username/password is served from the cache on the next request
+ * - a different password (or a failed login) always goes to the real provider
+ * - invalidateAll() (what CredentialChangeListener calls) forces a fresh check
+ */
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private AuthenticationCache cache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new AuthenticationCache(Duration.ofMinutes(1), 10);
+        provider = new CachingAuthenticationProvider(delegate, cache);
+
+        when(delegate.supports(any())).thenReturn(true);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"password123".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    request.getName(), null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        });
+    }
+
+    @Test
+    @DisplayName("repeat logins with the same credentials skip the real provider")
+    void repeatLogin_isCached() {
+        Authentication first = provider.authenticate(login("admin@heshima.studio", "password123"));
+        Authentication second = provider.authenticate(login("admin@heshima.studio", "password123"));
+
+        verify(delegate, times(1)).authenticate(any());
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertTrue(second.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("a wrong password is never answered from the cache")
+    void wrongPassword_isNotCached() {
+        provider.authenticate(login("admin@heshima.studio", "password123"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(login("admin@heshima.studio", "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(login("admin@heshima.studio", "wrong")));
+
+        verify(delegate, times(3)).authenticate(any());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("invalidateAll forces the next login back through the real provider")
+    void invalidateAll_forcesRecheck() {
+        provider.authenticate(login("admin@heshima.studio", "password123"));
+        cache.invalidateAll();
+        provider.authenticate(login("admin@heshima.studio", "password123"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("a zero TTL disables caching")
+    void zeroTtl_disablesCache() {
+        CachingAuthenticationProvider uncached =
+                new CachingAuthenticationProvider(delegate, new AuthenticationCache(Duration.ZERO, 10));
+
+        uncached.authenticate(login("admin@heshima.studio", "password123"));
+        uncached.authenticate(login("admin@heshima.studio", "password123"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication login(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -1,14 +1,19 @@
 package com.heshima.heshima_studio.security;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -46,6 +51,20 @@ class SecurityIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("products endpoint should answer a repeated ETag with 304 through the security filters")
+    void products_conditionalGet_isNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                // our Cache-Control must win over Spring Security's default no-store
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
     @Test
     @DisplayName("admin endpoint should return 401 when no user is logged in")
     void inquiries_noAuth_isUnauthorized() throws Exception {
@@ -61,6 +80,55 @@ class SecurityIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("real Basic credentials keep working on repeat requests (served from the auth cache)")
+    void inquiries_basicAuth_repeatRequestsAreOk() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/inquiries").with(httpBasic("admin@heshima.studio", "password123")))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @DisplayName("a wrong Basic password is rejected even after a successful login")
+    void inquiries_basicAuth_wrongPasswordIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/inquiries").with(httpBasic("admin@heshima.studio", "password123")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/inquiries").with(httpBasic("admin@heshima.studio", "not-the-password")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("login issues a bearer token that unlocks admin endpoints")
+    void login_tokenGrantsAdminAccess() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@heshima.studio\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.token");
+
+        mockMvc.perform(get("/api/inquiries").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("login with a wrong password returns 401")
+    void login_wrongPassword_isUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@heshima.studio\",\"password\":\"nope\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("an invalid bearer token does not authenticate")
+    void invalidBearerToken_isUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/inquiries").header("Authorization", "Bearer forged.token"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @WithMockUser(username = "client@example.com", roles = {"USER"})
     @DisplayName("admin endpoint should return 403 for non-admin user")
@@ -0,0 +1,90 @@
+package com.heshima.heshima_studio.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenService.
+ *
+ * Verifies:
+ * - an issued token verifies back to the same user and roles
+ * - a token is rejected once it expires
+ * - any change to the payload or signature is rejected
+ * - a token signed with another key is rejected
+ */
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2025-11-09T12:00:00Z");
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin@heshima.studio", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Test
+    @DisplayName("issued token verifies to the same user and authorities")
+    void issue_thenVerify_roundTrips() {
+        TokenService service = serviceAt(NOW);
+
+        String token = service.issue(admin).getToken();
+        Optional<Authentication> verified = service.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("admin@heshima.studio", verified.get().getName());
+        assertTrue(verified.get().isAuthenticated());
+        assertTrue(verified.get().getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("expired token is rejected")
+    void verify_rejectsExpiredToken() {
+        String token = serviceAt(NOW).issue(admin).getToken();
+
+        assertTrue(serviceAt(NOW.plus(Duration.ofMinutes(16))).verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("tampered payload or signature is rejected")
+    void verify_rejectsTamperedToken() {
+        TokenService service = serviceAt(NOW);
+        String token = service.issue(admin).getToken();
+        int dot = token.indexOf('.');
+
+        // swap in a payload claiming a different user, keep the original signature
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("attacker@example.com\nROLE_ADMIN\n" + Long.MAX_VALUE).getBytes());
+        assertTrue(service.verify(forgedPayload + token.substring(dot)).isEmpty());
+
+        // flip the last signature character
+        char last = token.charAt(token.length() - 1);
+        String badSignature = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+        assertTrue(service.verify(badSignature).isEmpty());
+
+        assertTrue(service.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("token signed with a different key is rejected")
+    void verify_rejectsOtherKey() {
+        String token = serviceAt(NOW).issue(admin).getToken();
+        TokenService otherNode = new TokenService("", Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(otherNode.verify(token).isEmpty());
+    }
+
+    private static TokenService serviceAt(Instant now) {
+        return new TokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
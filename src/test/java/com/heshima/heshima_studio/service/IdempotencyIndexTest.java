@@ -0,0 +1,177 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyIndex.
+ *
+ * The "create" step is a counting lambda, so each test can check exactly how many
+ * times an inquiry would have been written.
+ */
+class IdempotencyIndexTest {
+
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    @DisplayName("a repeated key returns the first response without creating again")
+    void repeatedKey_isReplayed() {
+        IdempotencyIndex index = new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofSeconds(1));
+
+        IdempotencyIndex.Result first = index.execute("k1", request("hello"), this::create);
+        IdempotencyIndex.Result second = index.execute("k1", request("hello"), this::create);
+
+        assertEquals(1, creates.get());
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertSame(first.getResponse(), second.getResponse());
+    }
+
+    @Test
+    @DisplayName("a single productId and the same one-item list count as the same request")
+    void productIdAndItems_shareFingerprint() {
+        InquiryRequest single = request("hello");
+        InquiryRequest asItems = request("hello");
+        asItems.setProductId(null);
+        asItems.setItems(List.of(new InquiryItemRequest(1L, null)));
+
+        assertEquals(IdempotencyIndex.fingerprint(single), IdempotencyIndex.fingerprint(asItems));
+    }
+
+    @Test
+    @DisplayName("the same services in a different order count as the same request")
+    void itemOrder_doesNotChangeFingerprint() {
+        InquiryRequest first = request("hello");
+        first.setItems(List.of(new InquiryItemRequest(2L, 3), new InquiryItemRequest(1L, null)));
+        InquiryRequest reordered = request("hello");
+        reordered.setItems(List.of(new InquiryItemRequest(1L, 1), new InquiryItemRequest(2L, 3)));
+
+        assertEquals(IdempotencyIndex.fingerprint(first), IdempotencyIndex.fingerprint(reordered));
+    }
+
+    @Test
+    @DisplayName("reusing a key with a different body is a conflict")
+    void reusedKeyWithDifferentBody_conflicts() {
+        IdempotencyIndex index = new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofSeconds(1));
+        index.execute("k1", request("hello"), this::create);
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> index.execute("k1", request("something else"), this::create));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    @DisplayName("a failed create forgets the key so the client can retry")
+    void failedCreate_allowsRetry() {
+        IdempotencyIndex index = new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofSeconds(1));
+
+        assertThrows(IllegalArgumentException.class, () -> index.execute("k1", request("hello"), () -> {
+            throw new IllegalArgumentException("Product not found: 1");
+        }));
+        index.execute("k1", request("hello"), this::create);
+
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    @DisplayName("expired keys and evicted keys run the create again")
+    void expiredAndEvictedKeys_areForgotten() {
+        IdempotencyIndex expiring = new IdempotencyIndex(Duration.ZERO, 100, Duration.ofSeconds(1));
+        expiring.execute("k1", request("hello"), this::create);
+        expiring.execute("k1", request("hello"), this::create);
+        assertEquals(2, creates.get());
+
+        IdempotencyIndex tiny = new IdempotencyIndex(Duration.ofHours(1), 2, Duration.ofSeconds(1));
+        tiny.execute("a", request("hello"), this::create);
+        tiny.execute("b", request("hello"), this::create);
+        tiny.execute("c", request("hello"), this::create);
+        assertEquals(2, tiny.size());
+    }
+
+    @Test
+    @DisplayName("concurrent requests with one key create once and all get the same answer")
+    void concurrentSameKey_createsOnce() throws Exception {
+        IdempotencyIndex index = new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofSeconds(5));
+        CountDownLatch insideCreate = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<IdempotencyIndex.Result> owner = pool.submit(() -> index.execute("k1", request("hello"), () -> {
+            insideCreate.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return create();
+        }));
+        assertTrue(insideCreate.await(5, TimeUnit.SECONDS));
+
+        // the "double-clicks" arrive while the first request is still writing
+        Future<IdempotencyIndex.Result> second = pool.submit(() -> index.execute("k1", request("hello"), this::create));
+        Future<IdempotencyIndex.Result> third = pool.submit(() -> index.execute("k1", request("hello"), this::create));
+        release.countDown();
+
+        assertEquals(owner.get().getResponse().getId(), second.get().getResponse().getId());
+        assertEquals(owner.get().getResponse().getId(), third.get().getResponse().getId());
+        assertEquals(1, creates.get());
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("a retry that outwaits the in-flight first request gets a 409-mapped exception, not a 500")
+    void inFlightTimeout_throwsInProgress() throws Exception {
+        IdempotencyIndex index = new IdempotencyIndex(Duration.ofHours(1), 100, Duration.ofMillis(50));
+        CountDownLatch insideCreate = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<IdempotencyIndex.Result> owner = pool.submit(() -> index.execute("k1", request("hello"), () -> {
+            insideCreate.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return create();
+        }));
+        assertTrue(insideCreate.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> index.execute("k1", request("hello"), this::create));
+
+        release.countDown();
+        assertFalse(owner.get().isReplayed());
+        assertEquals(1, creates.get());
+        pool.shutdown();
+    }
+
+    private InquiryResponse create() {
+        long id = creates.incrementAndGet();
+        return new InquiryResponse(id, "Client", "client@example.com", "hello", LocalDateTime.now(), List.of());
+    }
+
+    private static InquiryRequest request(String message) {
+        InquiryRequest request = new InquiryRequest();
+        request.setProductId(1L);
+        request.setName("Client");
+        request.setEmail("client@example.com");
+        request.setMessage(message);
+        return request;
+    }
+}
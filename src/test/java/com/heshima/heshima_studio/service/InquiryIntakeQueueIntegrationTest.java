@@ -0,0 +1,89 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end check of the async intake mode.
+ *
+ * - Boots the app with heshima.inquiry.intake.async=true, so the real writer thread runs.
+ * - POSTs a public inquiry anonymously and expects 202 plus a status URL.
+ * - Polls that URL (also anonymously) until the writer has saved the inquiry,
+ *   then reads the saved inquiry back through InquiryService.
+ */
+@SpringBootTest(properties = {
+        "heshima.inquiry.intake.async=true",
+        "heshima.inquiry.intake.flush-interval=20ms"
+})
+@AutoConfigureMockMvc
+class InquiryIntakeQueueIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Test
+    @DisplayName("queued inquiry is accepted with 202 and saved by the writer")
+    void postInquiry_isQueuedThenSaved() throws Exception {
+        Product product = productRepository.save(new Product("Queued Service", "async intake", new BigDecimal("40.00")));
+
+        String accepted = mockMvc.perform(post("/api/inquiries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Async\",\"email\":\"async@example.com\","
+                                + "\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":2}]}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String statusUrl = JsonPath.read(accepted, "$.statusUrl");
+
+        // the writer flushes every 20ms; give it a generous window
+        String status = "QUEUED";
+        String body = accepted;
+        for (int attempt = 0; attempt < 100 && "QUEUED".equals(status); attempt++) {
+            Thread.sleep(50);
+            body = mockMvc.perform(get(statusUrl))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = JsonPath.read(body, "$.status");
+        }
+
+        assertThat(status).isEqualTo("SAVED");
+        Number inquiryId = JsonPath.read(body, "$.inquiryId");
+        assertThat(inquiryService.getInquiryById(inquiryId.longValue()))
+                .hasValueSatisfying(inquiry -> {
+                    assertThat(inquiry.getCustomerName()).isEqualTo("Async");
+                    assertThat(inquiry.getItems()).hasSize(1);
+                    assertThat(inquiry.getItems().get(0).getQuantity()).isEqualTo(2);
+                });
+
+        // the H2 database is shared with the other Spring tests, so leave it as we found it
+        inquiryService.deleteInquiry(inquiryId.longValue());
+        productRepository.delete(product);
+    }
+
+    @Test
+    @DisplayName("unknown submission ids are a public 404, not a 401")
+    void unknownSubmission_isNotFound() throws Exception {
+        mockMvc.perform(get("/api/inquiries/submissions/does-not-exist"))
+                .andExpect(status().isNotFound());
+    }
+}
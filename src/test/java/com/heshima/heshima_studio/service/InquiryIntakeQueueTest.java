@@ -0,0 +1,297 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InquiryIntakeQueue.
+ *
+ * The writer thread is never started here; tests call flush(), recover() and
+ * retryPending() on the test thread, so every assertion is deterministic.
+ * InquiryService, ProductService and InquiryJournal are mocked.
+ */
+class InquiryIntakeQueueTest {
+
+    @Mock
+    private InquiryService inquiryService;
+
+    @Mock
+    private ProductService productService;
+
+    // journal off unless a test turns it on
+    @Mock
+    private InquiryJournal journal;
+
+    private InquiryIntakeQueue intake;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productService.getProductById(1L))
+                .thenReturn(Optional.of(new Product("Branding", "Brand kit", new BigDecimal("750.00"))));
+        intake = newQueue(10, 2);
+    }
+
+    @Test
+    @DisplayName("submit queues the inquiry and flush writes it in one batch")
+    void submit_thenFlush_marksSaved() {
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> responses(inv.getArgument(0), 100L));
+
+        InquirySubmission first = intake.submit(request(1L));
+        InquirySubmission second = intake.submit(request(null));
+
+        // nothing is written on submit
+        assertEquals(InquirySubmission.Status.QUEUED, first.getStatus());
+        verifyNoInteractions(inquiryService);
+
+        assertEquals(2, intake.flush());
+
+        verify(inquiryService, times(1)).createInquiries(anyList());
+        assertEquals(InquirySubmission.Status.SAVED, first.getStatus());
+        assertEquals(100L, first.getInquiryId());
+        assertEquals(101L, second.getInquiryId());
+        assertSame(first, intake.getSubmission(first.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("flush writes in groups of batch-size")
+    void flush_respectsBatchSize() {
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> responses(inv.getArgument(0), 1L));
+
+        for (int i = 0; i < 5; i++) {
+            intake.submit(request(1L));
+        }
+        intake.flush();
+
+        // batch size 2 -> 2 + 2 + 1
+        verify(inquiryService, times(3)).createInquiries(anyList());
+    }
+
+    @Test
+    @DisplayName("submit throws InquiryQueueFullException once the queue is full")
+    void submit_whenFull_throws() {
+        InquiryIntakeQueue tiny = newQueue(1, 10);
+        tiny.submit(request(1L));
+
+        assertThrows(InquiryQueueFullException.class, () -> tiny.submit(request(1L)));
+        assertEquals(1, tiny.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("submit rejects unknown products before queueing")
+    void submit_unknownProduct_throws() {
+        when(productService.getProductById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> intake.submit(request(999L)));
+        assertEquals(0, intake.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("a failed batch is retried one by one so only the bad submission fails")
+    void flush_failedBatch_isolatesBadSubmission() {
+        InquirySubmission good = intake.submit(request(1L));
+        InquirySubmission bad = intake.submit(request(1L));
+
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> {
+            List<InquirySubmission> batch = inv.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new IllegalArgumentException("Product not found: 1");
+            }
+            return responses(batch, 7L);
+        });
+
+        intake.flush();
+
+        assertEquals(InquirySubmission.Status.SAVED, good.getStatus());
+        assertEquals(7L, good.getInquiryId());
+        assertEquals(InquirySubmission.Status.FAILED, bad.getStatus());
+        assertEquals("Product not found: 1", bad.getError());
+    }
+
+    @Test
+    @DisplayName("a repeated Idempotency-Key returns the first queued submission")
+    void submit_sameIdempotencyKey_isNotQueuedTwice() {
+        InquirySubmission first = intake.submit(request(1L), "key-1");
+        InquirySubmission again = intake.submit(request(1L), "key-1");
+
+        assertSame(first, again);
+        assertEquals(1, intake.getQueuedCount());
+
+        InquiryRequest different = request(1L);
+        different.setMessage("changed my mind");
+        assertThrows(IdempotencyKeyConflictException.class, () -> intake.submit(different, "key-1"));
+    }
+
+    @Test
+    @DisplayName("a submission whose Idempotency-Key the database holds for another inquiry fails with the conflict")
+    void flush_storedKeyConflict_failsOnlyThatSubmission() {
+        InquirySubmission good = intake.submit(request(1L));
+        InquirySubmission reused = intake.submit(request(1L), "key-1");
+
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> {
+            List<InquirySubmission> batch = inv.getArgument(0);
+            if (batch.contains(reused)) {
+                throw new IdempotencyKeyConflictException("key-1");
+            }
+            return responses(batch, 7L);
+        });
+
+        intake.flush();
+
+        assertEquals(InquirySubmission.Status.SAVED, good.getStatus());
+        assertEquals(InquirySubmission.Status.FAILED, reused.getStatus());
+        assertEquals(new IdempotencyKeyConflictException("key-1").getMessage(), reused.getError());
+    }
+
+    @Test
+    @DisplayName("with the journal on, a database outage keeps submissions pending for retry")
+    void journal_databaseDown_keepsPendingAndRetries() {
+        when(journal.isEnabled()).thenReturn(true);
+        InquirySubmission submission = intake.submit(request(1L));
+        verify(journal).append(submission);
+
+        // first attempt: no connection
+        when(inquiryService.createInquiries(anyList()))
+                .thenThrow(new CannotCreateTransactionException("connection refused"));
+        intake.flush();
+
+        assertEquals(InquirySubmission.Status.QUEUED, submission.getStatus());
+        assertEquals(1, intake.getRetryCount());
+        verify(journal, never()).markDone(anyCollection());
+
+        // database is back
+        reset(inquiryService);
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> responses(inv.getArgument(0), 55L));
+        assertEquals(1, intake.retryPending());
+
+        assertEquals(InquirySubmission.Status.SAVED, submission.getStatus());
+        assertEquals(55L, submission.getInquiryId());
+        verify(journal).markDone(List.of(submission.getId()));
+    }
+
+    @Test
+    @DisplayName("while the database is down the writer leaves the queue alone, so a full queue still answers 429")
+    void journal_databaseDown_keepsBackpressure() throws Exception {
+        when(journal.isEnabled()).thenReturn(true);
+        InquiryIntakeQueue bounded = new InquiryIntakeQueue(inquiryService, productService, journal, true,
+                3, 2, Duration.ofMillis(50), 100, Duration.ZERO);
+        when(inquiryService.createInquiries(anyList()))
+                .thenThrow(new CannotCreateTransactionException("connection refused"));
+        bounded.submit(request(1L));
+        bounded.submit(request(1L));
+        bounded.flush();
+        assertEquals(2, bounded.getRetryCount());
+
+        bounded.submit(request(1L));
+        bounded.submit(request(1L));
+        bounded.submit(request(1L));
+        // retries fail again; nothing new is taken off the queue
+        bounded.writeNext();
+        bounded.writeNext();
+
+        assertEquals(2, bounded.getRetryCount());
+        assertEquals(3, bounded.getQueuedCount());
+        assertThrows(InquiryQueueFullException.class, () -> bounded.submit(request(1L)));
+
+        // database is back: the backlog goes first, then the queue
+        reset(inquiryService);
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> responses(inv.getArgument(0), 1L));
+        bounded.writeNext();
+        assertEquals(0, bounded.getRetryCount());
+        assertEquals(3, bounded.getQueuedCount());
+        bounded.writeNext();
+        assertEquals(1, bounded.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("a submission the journal can't take is not left QUEUED or bound to its Idempotency-Key")
+    void journal_appendFails_forgetsSubmission() {
+        when(journal.isEnabled()).thenReturn(true);
+        doThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .when(journal).append(any(InquirySubmission.class));
+
+        assertThrows(UncheckedIOException.class, () -> intake.submit(request(1L), "key-1"));
+
+        ArgumentCaptor<InquirySubmission> appended = ArgumentCaptor.forClass(InquirySubmission.class);
+        verify(journal).append(appended.capture());
+        assertTrue(intake.getSubmission(appended.getValue().getId()).isEmpty());
+        assertEquals(0, intake.getQueuedCount());
+
+        // once the disk has room again, the retry is queued as a new submission
+        doNothing().when(journal).append(any(InquirySubmission.class));
+        InquirySubmission retried = intake.submit(request(1L), "key-1");
+        assertNotSame(appended.getValue(), retried);
+        assertEquals(1, intake.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("with the journal on, an invalid submission still fails for good")
+    void journal_invalidSubmission_failsAndIsMarkedDone() {
+        when(journal.isEnabled()).thenReturn(true);
+        InquirySubmission submission = intake.submit(request(1L));
+        when(inquiryService.createInquiries(anyList()))
+                .thenThrow(new IllegalArgumentException("Product not found: 1"));
+
+        intake.flush();
+
+        assertEquals(InquirySubmission.Status.FAILED, submission.getStatus());
+        assertEquals(0, intake.getRetryCount());
+        verify(journal).markDone(List.of(submission.getId()));
+    }
+
+    @Test
+    @DisplayName("recover lines up journaled submissions from the last run")
+    void recover_replaysJournal() {
+        InquirySubmission leftover = new InquirySubmission("left-1", "Left", "left@example.com", null,
+                List.of(), LocalDateTime.now().minusMinutes(5));
+        when(journal.open()).thenReturn(List.of(leftover));
+        when(inquiryService.createInquiries(anyList())).thenAnswer(inv -> responses(inv.getArgument(0), 9L));
+
+        assertEquals(1, intake.recover());
+        assertTrue(intake.getSubmission("left-1").isPresent());
+
+        intake.retryPending();
+        assertEquals(InquirySubmission.Status.SAVED, leftover.getStatus());
+    }
+
+    private InquiryIntakeQueue newQueue(int capacity, int batchSize) {
+        return new InquiryIntakeQueue(inquiryService, productService, journal, true,
+                capacity, batchSize, Duration.ofMillis(50), 100, Duration.ofSeconds(5));
+    }
+
+    private static InquiryRequest request(Long productId) {
+        InquiryRequest request = new InquiryRequest();
+        request.setProductId(productId);
+        request.setName("Queued");
+        request.setEmail("queued@example.com");
+        return request;
+    }
+
+    // fake saved inquiries with consecutive ids, in submission order
+    private static List<InquiryResponse> responses(List<InquirySubmission> batch, long firstId) {
+        return batch.stream()
+                .map(s -> new InquiryResponse(firstId + batch.indexOf(s), s.getName(), s.getEmail(),
+                        s.getMessage(), LocalDateTime.now(), List.of()))
+                .toList();
+    }
+}
@@ -0,0 +1,160 @@
+package com.heshima.heshima_studio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for InquiryJournal against a real temporary directory.
+ *
+ * Each "restart" is simulated by closing one journal and opening a new one on
+ * the same directory, which is exactly what happens across a process restart.
+ */
+class InquiryJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("accepted submissions survive a restart until they are marked done")
+    void pendingSubmissions_areReplayedAfterRestart() {
+        InquiryJournal first = journal(DataSize.ofKilobytes(64));
+        first.open();
+        InquirySubmission saved = submission("saved-1");
+        InquirySubmission pending = submission("pending-1");
+        first.append(saved);
+        first.append(pending);
+        first.markDone(List.of("saved-1"));
+        first.close();
+
+        InquiryJournal second = journal(DataSize.ofKilobytes(64));
+        List<InquirySubmission> replay = second.open();
+
+        assertThat(replay).extracting(InquirySubmission::getId).containsExactly("pending-1");
+        InquirySubmission restored = replay.get(0);
+        assertThat(restored.getEmail()).isEqualTo("pending-1@example.com");
+        assertThat(restored.getAcceptedAt()).isEqualTo(pending.getAcceptedAt());
+        assertThat(restored.getItems()).hasSize(1);
+        assertThat(restored.getItems().get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("full segments rotate and are deleted once everything in them is done")
+    void segments_rotateAndAreDeletedWhenDone() throws IOException {
+        // small segments so a handful of records forces rotation
+        InquiryJournal journal = journal(DataSize.ofBytes(1024));
+        journal.open();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            InquirySubmission submission = submission("rot-" + i);
+            journal.append(submission);
+            ids.add(submission.getId());
+        }
+        assertThat(segmentCount()).isGreaterThan(2);
+
+        journal.markDone(ids);
+        // only the current segment is left
+        assertThat(segmentCount()).isEqualTo(1);
+        assertThat(journal.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a torn record at the end of a segment is ignored on replay")
+    void tornTail_isIgnored() throws IOException {
+        InquiryJournal first = journal(DataSize.ofKilobytes(64));
+        first.open();
+        first.append(submission("intact-1"));
+        first.append(submission("torn-1"));
+        first.close();
+
+        // corrupt one byte inside the second record's payload
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int firstLength = file.readInt();
+            long secondPayload = 9L + firstLength + 9L;
+            file.seek(secondPayload + 5);
+            file.writeByte('X');
+        }
+
+        List<InquirySubmission> replay = journal(DataSize.ofKilobytes(64)).open();
+        assertThat(replay).extracting(InquirySubmission::getId).containsExactly("intact-1");
+    }
+
+    @Test
+    @DisplayName("concurrent appends share fsyncs (group commit)")
+    void concurrentAppends_areGroupCommitted() throws Exception {
+        InquiryJournal journal = journal(DataSize.ofMegabytes(1));
+        journal.open();
+        long forcesBefore = journal.getForceCount();
+
+        int writers = 8;
+        int perWriter = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    journal.append(submission("g-" + writer + "-" + i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(journal.getPendingCount()).isEqualTo(writers * perWriter);
+        // never more than one fsync per append, and usually far fewer
+        assertThat(journal.getForceCount() - forcesBefore).isLessThanOrEqualTo(writers * perWriter);
+    }
+
+    @Test
+    @DisplayName("a submission bigger than a whole segment is rejected")
+    void oversizedSubmission_isRejected() {
+        InquiryJournal journal = journal(DataSize.ofBytes(128));
+        journal.open();
+
+        assertThrows(InvalidRequestException.class, () -> journal.append(submission("too-big-" + "x".repeat(200))));
+    }
+
+    private InquiryJournal journal(DataSize segmentSize) {
+        return new InquiryJournal(new ObjectMapper(), true, dir.toString(), segmentSize, true);
+    }
+
+    private static InquirySubmission submission(String id) {
+        return new InquirySubmission(id, "Client " + id, id + "@example.com", "journal test",
+                List.of(new InquiryItemRequest(1L, 2)), LocalDateTime.of(2025, 11, 9, 12, 0));
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.ArchivedOrder;
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderItem;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.OrderArchiveRepository;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The retention job against the Flyway-migrated schema (H2 in MySQL mode, MySQL
+ * dialect, like SchemaMigrationTest), so its native SQL runs on the V6 archive tables.
+ *
+ * Chunk size 2 and no pause: five old CLOSED inquiries take three chunks. Recent
+ * CLOSED ones and old ones in any other status stay where they are.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retention;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "heshima.inquiry.retention.max-age=30d",
+        "heshima.inquiry.retention.chunk-size=2",
+        "heshima.inquiry.retention.pause=0ms"
+})
+class InquiryRetentionJobIntegrationTest {
+
+    @Autowired
+    private InquiryRetentionJob retentionJob;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository archiveRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InquirySearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("old CLOSED inquiries move to the archive with their items, in chunks; the rest stay")
+    void runOnce_archivesOldClosedInquiries() {
+        Product product = productRepository.save(new Product("Archive Kit", "retention", new BigDecimal("40.00")));
+        LocalDateTime old = LocalDateTime.now().minusDays(90);
+
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(save("Old Closed " + i, OrderStatus.CLOSED, old.plusHours(i), product).getId());
+        }
+        Long recentClosed = save("Recent Closed", OrderStatus.CLOSED, LocalDateTime.now().minusDays(2), product).getId();
+        Long oldOpen = save("Old Open", OrderStatus.IN_PROGRESS, old, product).getId();
+        double archivedBefore = registry.get(InquiryRetentionJob.ARCHIVED).counter().count();
+        long chunksBefore = registry.get(InquiryRetentionJob.CHUNK).timer().count();
+
+        int archived = retentionJob.runOnce();
+
+        assertThat(archived).isEqualTo(5);
+        assertThat(orderRepository.findAllById(expired)).isEmpty();
+        assertThat(orderRepository.findById(recentClosed)).isPresent();
+        assertThat(orderRepository.findById(oldOpen)).isPresent();
+
+        ArchivedOrder copy = archiveRepository.findById(expired.get(0)).orElseThrow();
+        assertThat(copy.getCustomerName()).isEqualTo("Old Closed 0");
+        assertThat(copy.getStatus()).isEqualTo(OrderStatus.CLOSED);
+        assertThat(copy.getArchivedAt()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items_archive WHERE product_id = ?", Integer.class, product.getId()))
+                .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE product_id = ?", Integer.class, product.getId()))
+                .isEqualTo(2);
+        assertThat(searchIndex.search("old closed", 0, 10).getTotal()).isZero();
+
+        assertThat(registry.get(InquiryRetentionJob.ARCHIVED).counter().count() - archivedBefore).isEqualTo(5);
+        // 2 + 2 + 1
+        assertThat(registry.get(InquiryRetentionJob.CHUNK).timer().count() - chunksBefore).isEqualTo(3);
+        assertThat(registry.get("heshima.retention.last.run.archived").gauge().value()).isEqualTo(5);
+
+        assertThat(retentionJob.runOnce()).isZero();
+    }
+
+    @Test
+    @DisplayName("the chunk query seeks idx_orders_status_created_at")
+    void candidateQuery_usesStatusIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM orders "
+                + "WHERE status = 'CLOSED' AND deleted_at IS NULL AND created_at < ? "
+                + "AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at, id LIMIT 2",
+                String.class, LocalDateTime.now(), LocalDateTime.of(1970, 1, 1, 0, 0),
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L));
+
+        assertThat(plan).contains("idx_orders_status_created_at");
+    }
+
+    private Order save(String name, OrderStatus status, LocalDateTime createdAt, Product product) {
+        Order order = new Order();
+        order.setCustomerName(name);
+        order.setCustomerEmail("retention@example.com");
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        order.addItem(new OrderItem(product, 1, product.getBasePrice()));
+        return orderRepository.save(order);
+    }
+}
@@ -0,0 +1,127 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.repository.OrderArchiveRepository;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InquiryRetentionJob's back-off: with requests queued for a
+ * connection, a run stops before it takes one. And its shutdown: stop() lets the
+ * chunk in progress finish, uninterrupted, and no further chunk start.
+ */
+class InquiryRetentionJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private HikariDataSource hikari;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private InquiryRetentionJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        job = new InquiryRetentionJob(orderRepository, archiveRepository, new InquirySearchIndex(),
+                transactionManager, dataSource, registry, false, Duration.ofDays(30), Duration.ofHours(1),
+                100, Duration.ZERO, 10);
+    }
+
+    @Test
+    @DisplayName("runOnce yields without touching the database while requests wait for a connection")
+    void runOnce_poolBusy_yields() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+        assertEquals(0, job.runOnce());
+
+        assertEquals(1.0, registry.get(InquiryRetentionJob.YIELDED).counter().count());
+        verifyNoInteractions(archiveRepository, orderRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("rejects a zero chunk size")
+    void constructor_rejectsZeroChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new InquiryRetentionJob(orderRepository,
+                archiveRepository, new InquirySearchIndex(), transactionManager, dataSource, registry, false,
+                Duration.ofDays(30), Duration.ofHours(1), 0, Duration.ZERO, 10));
+    }
+
+    @Test
+    @DisplayName("stop() waits for the chunk in progress instead of interrupting it, then starts no other")
+    void stop_finishesCurrentChunk() throws Exception {
+        // its own registry: gauges on the shared one would read the job from setUp
+        InquiryRetentionJob scheduled = new InquiryRetentionJob(orderRepository, archiveRepository,
+                new InquirySearchIndex(), transactionManager, dataSource, new SimpleMeterRegistry(), true,
+                Duration.ofDays(30), Duration.ofMillis(10), 2, Duration.ZERO, 10);
+        CountDownLatch insideChunk = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        // always a full chunk, so only the stop flag ends the run
+        when(archiveRepository.lockArchivable(any(), any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            insideChunk.countDown();
+            Thread.sleep(200);
+            interrupted.set(Thread.currentThread().isInterrupted());
+            return List.of(candidate(1L), candidate(2L));
+        });
+
+        scheduled.start();
+        assertTrue(insideChunk.await(5, TimeUnit.SECONDS));
+        scheduled.stop();
+
+        assertFalse(interrupted.get());
+        assertFalse(scheduled.isRunning());
+        verify(archiveRepository, times(1)).lockArchivable(any(), any(), anyLong(), anyInt());
+        verify(orderRepository, times(1)).deleteRowsByIdIn(List.of(1L, 2L));
+    }
+
+    private static OrderArchiveRepository.Candidate candidate(long id) {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(90);
+        return new OrderArchiveRepository.Candidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
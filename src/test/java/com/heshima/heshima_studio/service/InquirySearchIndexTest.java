@@ -0,0 +1,109 @@
+package com.heshima.heshima_studio.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InquirySearchIndex: tokenizing, matching, ranking and paging.
+ */
+class InquirySearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 10, 12, 0);
+
+    private final InquirySearchIndex index = new InquirySearchIndex();
+
+    @Test
+    @DisplayName("tokenize lower-cases, drops accents and splits emails")
+    void tokenize_foldsAndSplits() {
+        assertEquals(List.of("jane", "doe", "acme", "com"), InquirySearchIndex.tokenize("Jane.Doe@ACME.com"));
+        assertEquals(List.of("zoe", "branding"), InquirySearchIndex.tokenize("  Zoë — branding!  "));
+        assertTrue(InquirySearchIndex.tokenize(null).isEmpty());
+        assertTrue(InquirySearchIndex.tokenize("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("every query term must match, in any field")
+    void search_requiresAllTerms() {
+        index.put(doc(1L, "Amara Okafor", "amara@studio.io", "new logo please", "Branding"));
+        index.put(doc(2L, "Amara Lee", "lee@example.com", "website refresh", "Web Design"));
+
+        assertEquals(List.of(1L), index.search("amara branding", 0, 10).getIds());
+        assertEquals(List.of(2L), index.search("amara website", 0, 10).getIds());
+        assertEquals(2, index.search("amara", 0, 10).getTotal());
+        assertEquals(0, index.search("amara nothing", 0, 10).getTotal());
+        assertEquals(0, index.search("", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("name and email hits outrank notes, then newest wins")
+    void search_ranksByFieldThenRecency() {
+        index.put(doc(1L, "Sam", "sam@example.com", "ask kofi about this", null));
+        index.put(doc(2L, "Kofi Mensah", "kofi@example.com", null, null));
+        index.put(doc(3L, "Kofi Boateng", "kb@example.com", null, null));
+
+        // 2 has "kofi" in name and email, 3 only in the name, 1 only in the notes
+        assertEquals(List.of(2L, 3L, 1L), index.search("kofi", 0, 10).getIds());
+
+        index.put(doc(4L, "Kofi Boateng", "kb2@example.com", null, null, NOW.plusDays(1)));
+        assertEquals(List.of(2L, 4L, 3L, 1L), index.search("kofi", 0, 10).getIds());
+    }
+
+    @Test
+    @DisplayName("a query term matches longer terms by prefix, below an exact match")
+    void search_matchesPrefixes() {
+        index.put(doc(1L, "Annabel Ross", "ross@example.com", null, null));
+        index.put(doc(2L, "Ann Ross", "ann@example.com", null, null));
+
+        assertEquals(List.of(2L, 1L), index.search("ann", 0, 10).getIds());
+        assertEquals(List.of(1L), index.search("annab", 0, 10).getIds());
+        // too short to expand
+        assertEquals(0, index.search("an", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("pages slice the ranking and total counts every hit")
+    void search_pages() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(doc(id, "Client " + id, "c" + id + "@example.com", "rebrand", null, NOW.plusMinutes(id)));
+        }
+
+        InquirySearchIndex.Hits first = index.search("rebrand", 0, 2);
+        InquirySearchIndex.Hits last = index.search("rebrand", 4, 2);
+
+        assertEquals(5, first.getTotal());
+        assertEquals(List.of(5L, 4L), first.getIds());
+        assertEquals(List.of(1L), last.getIds());
+        assertTrue(index.search("rebrand", 10, 2).getIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("put replaces an inquiry's terms and remove takes it out")
+    void putAndRemove_updateTheIndex() {
+        index.put(doc(1L, "Old Name", "old@example.com", null, null));
+        index.put(doc(1L, "New Name", "new@example.com", null, null));
+
+        assertEquals(0, index.search("old", 0, 10).getTotal());
+        assertEquals(List.of(1L), index.search("new", 0, 10).getIds());
+        assertEquals(1, index.size());
+
+        index.remove(1L);
+
+        assertEquals(0, index.search("new", 0, 10).getTotal());
+        assertEquals(0, index.size());
+    }
+
+    private static InquirySearchIndex.Document doc(Long id, String name, String email, String notes, String product) {
+        return doc(id, name, email, notes, product, NOW);
+    }
+
+    private static InquirySearchIndex.Document doc(Long id, String name, String email, String notes, String product,
+                                                   LocalDateTime createdAt) {
+        return new InquirySearchIndex.Document(id, createdAt, name, email, notes,
+                product != null ? List.of(product) : List.of());
+    }
+}
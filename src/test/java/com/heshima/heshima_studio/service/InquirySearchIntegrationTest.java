@@ -0,0 +1,118 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Inquiry search against the real app on H2.
+ *
+ * - Inquiries written through InquiryService show up in the index once the
+ *   transaction commits, and deleted ones drop out (OrderSearchListener).
+ * - A rolled-back write never reaches the index.
+ * - The startup scan (InquirySearchIndexLoader) rebuilds the same index from the table.
+ * - GET /api/inquiries/search is admin-only and returns ranked, paged hits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class InquirySearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private InquirySearchIndex searchIndex;
+
+    @Autowired
+    private InquirySearchIndexLoader loader;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("created inquiries are searchable by product name and deleted ones are not")
+    void createAndDelete_updateTheIndex() {
+        Product product = productRepository.save(new Product("Zanzibar Motion Kit", "motion", new BigDecimal("90.00")));
+        InquiryResponse saved = inquiryService.createInquiry("Wanjiru Kamau", "wanjiru@example.com", "teaser",
+                List.of(new InquiryItemRequest(product.getId(), 1)));
+
+        assertThat(searchIndex.search("zanzibar wanjiru", 0, 10).getIds()).containsExactly(saved.getId());
+
+        inquiryService.deleteInquiry(saved.getId());
+
+        assertThat(searchIndex.search("zanzibar", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("a rolled-back insert is never indexed")
+    void rolledBackInsert_isNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            inquiryService.createInquiry(null, "Rollback Person", "quokka@example.com", "never committed");
+            status.setRollbackOnly();
+        });
+
+        assertThat(searchIndex.search("quokka", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("the startup scan rebuilds the index from the orders table")
+    void loader_rebuildsFromTable() {
+        InquiryResponse saved = inquiryService.createInquiry(null, "Thandiwe Ndlovu", "thandiwe@example.com",
+                "annual report layout");
+        searchIndex.clear();
+
+        loader.start();
+
+        assertThat(searchIndex.search("thandiwe annual", 0, 10).getIds()).containsExactly(saved.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("search endpoint returns ranked, paged hits")
+    void searchEndpoint_returnsRankedPage() throws Exception {
+        InquiryResponse older = inquiryService.createInquiry(null, "Baraka One", "baraka1@example.com", "pitch deck");
+        InquiryResponse newer = inquiryService.createInquiry(null, "Baraka Two", "baraka2@example.com", "pitch deck");
+
+        mockMvc.perform(get("/api/inquiries/search").param("q", "baraka pitch").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.items[0].id").value(newer.getId()));
+
+        mockMvc.perform(get("/api/inquiries/search").param("q", "baraka pitch").param("size", "1").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.items[0].id").value(older.getId()));
+    }
+
+    @Test
+    @DisplayName("search endpoint is admin-only")
+    void searchEndpoint_requiresAuth() throws Exception {
+        mockMvc.perform(get("/api/inquiries/search").param("q", "anything"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,167 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderItem;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count tests for the admin read paths and the multi-item write path
+ * in InquiryServiceImpl.
+ *
+ * - Seeds several orders, each with items pointing at different products.
+ * - Clears the persistence context so nothing is served from the first-level cache.
+ * - Uses Hibernate statistics to count the JDBC statements each read prepares.
+ *   Statistics are only switched on for this context (and OrderRepositoryTest, which
+ *   shares it through the same properties and its own H2 database), not suite-wide.
+ *
+ * If someone brings back lazy item / product loading, these counts grow with the
+ * number of orders and the tests fail. The same goes for the write path if items
+ * go back to being looked up and saved one at a time, or if bulk deletes go
+ * back to loading and cascading each order.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statistics;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class InquiryServiceImplQueryCountTest {
+
+    private static final int ORDER_COUNT = 6;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long sampleOrderId;
+    private final List<Long> orderIds = new ArrayList<>();
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        products = List.of(
+                productRepository.save(new Product("Count A", "query count", new BigDecimal("10.00"))),
+                productRepository.save(new Product("Count B", "query count", new BigDecimal("20.00"))),
+                productRepository.save(new Product("Count C", "query count", new BigDecimal("30.00")))
+        );
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setCustomerName("Counter " + i);
+            order.setCustomerEmail("counter" + i + "@example.com");
+            order.setStatus(OrderStatus.NEW);
+            order.setCreatedAt(LocalDateTime.of(2025, 11, 1, 9, 0).plusMinutes(i));
+
+            // two items per order, on different products, so both the
+            // item collection and the product association are exercised
+            for (int j = 0; j < 2; j++) {
+                Product product = products.get((i + j) % products.size());
+                order.addItem(new OrderItem(product, 1, product.getBasePrice()));
+            }
+            sampleOrderId = orderRepository.save(order).getId();
+            orderIds.add(sampleOrderId);
+        }
+
+        // push everything to the database and forget it, so reads really hit SQL
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getAllInquiries loads orders, items and products in one statement")
+    void getAllInquiries_usesSingleStatement() {
+        List<InquiryResponse> result = inquiryService.getAllInquiries();
+
+        assertThat(result).hasSizeGreaterThanOrEqualTo(ORDER_COUNT);
+        assertThat(result.get(0).getItems()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getInquiryPage loads a page in two statements")
+    void getInquiryPage_usesTwoStatements() {
+        InquiryPageResponse page = inquiryService.getInquiryPage(null, 4);
+
+        assertThat(page.getItems()).hasSize(4);
+        assertThat(page.getItems()).allSatisfy(i -> assertThat(i.getItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getInquiryById loads the order with items and products in one statement")
+    void getInquiryById_usesSingleStatement() {
+        Optional<InquiryResponse> result = inquiryService.getInquiryById(sampleOrderId);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getItems()).extracting("productName").doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("createInquiry with several items does not grow statements per item")
+    void createInquiry_multipleItems_usesConstantStatements() {
+        List<InquiryItemRequest> items = products.stream()
+                .map(p -> new InquiryItemRequest(p.getId(), 2))
+                .toList();
+
+        InquiryResponse created = inquiryService.createInquiry(
+                "Batch Client", "batch@example.com", "three services", items);
+        entityManager.flush();
+
+        assertThat(created.getItems()).hasSize(products.size());
+        // one product lookup, one order insert, one batched item insert,
+        // plus at most two sequence fetches for new id blocks
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("deleteInquiries removes orders and their items in two statements")
+    void deleteInquiries_usesTwoStatements() {
+        InquiryDeleteResponse result = inquiryService.deleteInquiries(orderIds);
+
+        assertThat(result.getDeleted()).isEqualTo(ORDER_COUNT);
+        assertThat(result.isSoft()).isFalse();
+        // one DELETE on order_items, one on orders, whatever the number of orders
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(orderRepository.findAllById(orderIds)).isEmpty();
+    }
+}
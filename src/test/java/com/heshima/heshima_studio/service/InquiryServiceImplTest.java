@@ -1,11 +1,17 @@
 package com.heshima.heshima_studio.service;
 
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryPageResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
 import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.InquirySearchResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
 import com.heshima.heshima_studio.entity.Order;
 import com.heshima.heshima_studio.entity.OrderItem;
 import com.heshima.heshima_studio.entity.OrderStatus;
 import com.heshima.heshima_studio.entity.Product;
-import com.heshima.heshima_studio.repository.OrderItemRepository;
+import com.heshima.heshima_studio.repository.OrderFilter;
 import com.heshima.heshima_studio.repository.OrderRepository;
 import com.heshima.heshima_studio.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +19,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,10 +39,10 @@ import static org.mockito.Mockito.*;
  * Unit tests for InquiryServiceImpl.
  * <p>
  * These tests verify that the service:
- * - looks up the product
- * - saves an Order and an OrderItem
+ * - looks up every requested product in one call
+ * - saves an Order with its OrderItems in one call
  * - maps the saved Order back into an InquiryResponse DTO
- * - supports read-all, read-one, and delete operations
+ * - supports read-all, read-one, search, status change, and (bulk) delete operations
  * <p>
  * Repositories are mocked so no database is touched.
  */
@@ -42,15 +53,19 @@ public class InquiryServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    // TransactionTemplate just runs the callback against the mock
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private PlatformTransactionManager transactionManager;
+
+    private InquirySearchIndex searchIndex;
 
     private InquiryServiceImpl inquiryService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        inquiryService = new InquiryServiceImpl(productRepository, orderRepository, orderItemRepository);
+        searchIndex = new InquirySearchIndex();
+        inquiryService = new InquiryServiceImpl(productRepository, orderRepository, searchIndex, transactionManager, false);
     }
 
     @Test
@@ -58,21 +73,11 @@ public class InquiryServiceImplTest {
     void createInquiry_createsOrderAndItem() {
         // ---------- arrange ----------
         // product that the user is inquiring about
-        Product product = new Product("Branding", "Brand identity package", new BigDecimal("750.00"));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-
-        // order that the repository will "save"
-        // (we return the same instance; we don't assert on id because entity may not expose setId)
-        Order savedOrder = new Order();
-        savedOrder.setCustomerName("Jaha");
-        savedOrder.setCustomerEmail("jaha@test.com");
-        savedOrder.setNotes("hi!");
-        savedOrder.setStatus(OrderStatus.NEW);
-        savedOrder.setCreatedAt(LocalDateTime.now());
-        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-
-        // we don't need to stub orderItemRepository.save(...) to return anything specific
-        when(orderItemRepository.save(any(OrderItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Product product = product(1L, "Branding", "750.00");
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
+
+        // the repository hands back the order it was given (items cascade with it)
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // ---------- act ----------
         InquiryResponse result = inquiryService.createInquiry(
@@ -83,10 +88,9 @@ public class InquiryServiceImplTest {
         );
 
         // ---------- assert ----------
-        // verify repositories were called
-        verify(productRepository).findById(1L);
+        // one product lookup and one save for the whole inquiry
+        verify(productRepository).findAllById(anyIterable());
         verify(orderRepository).save(any(Order.class));
-        verify(orderItemRepository).save(any(OrderItem.class));
 
         // verify DTO fields
         assertNotNull(result);
@@ -98,6 +102,228 @@ public class InquiryServiceImplTest {
         assertEquals(new BigDecimal("750.00"), result.getItems().get(0).getFinalPrice());
     }
 
+    @Test
+    @DisplayName("createInquiry with several items looks products up once and saves once")
+    void createInquiry_multipleItems_singleLookupAndSave() {
+        // arrange
+        Product branding = product(1L, "Branding", "750.00");
+        Product web = product(2L, "Web Design", "1200.00");
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(branding, web));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // act
+        InquiryResponse result = inquiryService.createInquiry(
+                "Jaha",
+                "jaha@test.com",
+                "full rebrand",
+                List.of(new InquiryItemRequest(1L, 1), new InquiryItemRequest(2L, 3))
+        );
+
+        // assert
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(productRepository, never()).findById(any());
+
+        assertEquals(2, result.getItems().size());
+        assertEquals("Branding", result.getItems().get(0).getProductName());
+        assertEquals(3, result.getItems().get(1).getQuantity());
+        // final price is base price x quantity
+        assertEquals(new BigDecimal("3600.00"), result.getItems().get(1).getFinalPrice());
+    }
+
+    @Test
+    @DisplayName("createInquiry without a product saves a general inquiry")
+    void createInquiry_noProduct_savesGeneralInquiry() {
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InquiryResponse result = inquiryService.createInquiry(null, "Jaha", "jaha@test.com", "just saying hi");
+
+        verify(productRepository, never()).findAllById(anyIterable());
+        assertTrue(result.getItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("createInquiry rejects a quantity below 1")
+    void createInquiry_throwsOnBadQuantity() {
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product(1L, "Branding", "750.00")));
+
+        assertThrows(
+                InvalidRequestException.class,
+                () -> inquiryService.createInquiry(
+                        "Jaha", "jaha@test.com", "hi", List.of(new InquiryItemRequest(1L, 0)))
+        );
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("createInquiries skips submissions that are already saved (journal replay)")
+    void createInquiries_skipsAlreadySavedSubmission() {
+        // arrange: "dup-1" made it to the database before the crash, "new-1" did not
+        Order alreadySaved = new Order();
+        alreadySaved.setCustomerName("Dup");
+        alreadySaved.setCustomerEmail("dup@example.com");
+        alreadySaved.setSubmissionId("dup-1");
+        when(orderRepository.findIncludingDeletedBySubmissionIdIn(anyCollection())).thenReturn(List.of(alreadySaved));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InquirySubmission dup = new InquirySubmission("dup-1", "Dup", "dup@example.com", null,
+                List.of(), LocalDateTime.now());
+        InquirySubmission fresh = new InquirySubmission("new-1", "New", "new@example.com", null,
+                List.of(), LocalDateTime.now());
+
+        // act
+        List<InquiryResponse> result = inquiryService.createInquiries(List.of(dup, fresh));
+
+        // assert: only the new one is inserted, answers keep submission order
+        verify(orderRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 1));
+        assertEquals("Dup", result.get(0).getCustomerName());
+        assertEquals("New", result.get(1).getCustomerName());
+    }
+
+    @Test
+    @DisplayName("createInquiries inserts once for several submissions sharing an Idempotency-Key")
+    void createInquiries_sameKeyInBatch_insertsOnce() {
+        when(orderRepository.findIncludingDeletedBySubmissionIdIn(anyCollection())).thenReturn(List.of());
+        when(orderRepository.findIncludingDeletedByIdempotencyKeyIn(anyCollection())).thenReturn(List.of());
+        // hand out ids like the database would, so the answers can be told apart
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            for (int i = 0; i < orders.size(); i++) {
+                ReflectionTestUtils.setField(orders.get(i), "id", 100L + i);
+            }
+            return orders;
+        });
+
+        InquirySubmission first = new InquirySubmission("sub-1", "Twice", "twice@example.com", "hi",
+                List.of(), LocalDateTime.now(), "batch-key");
+        InquirySubmission other = new InquirySubmission("sub-2", "Other", "other@example.com", "hi",
+                List.of(), LocalDateTime.now());
+        InquirySubmission doubleSubmit = new InquirySubmission("sub-3", "Twice", "twice@example.com", "hi",
+                List.of(), LocalDateTime.now(), "batch-key");
+
+        List<InquiryResponse> result = inquiryService.createInquiries(List.of(first, other, doubleSubmit));
+
+        verify(orderRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 2));
+        assertEquals(3, result.size());
+        assertEquals(100L, result.get(0).getId());
+        assertEquals(101L, result.get(1).getId());
+        assertEquals(100L, result.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("createInquiries checks the body of every Idempotency-Key it matches, stored or in the batch")
+    void createInquiries_reusedKeyDifferentBody_conflicts() {
+        Order stored = new Order();
+        ReflectionTestUtils.setField(stored, "id", 7L);
+        stored.setCustomerName("Jaha");
+        stored.setCustomerEmail("jaha@test.com");
+        stored.setNotes("logo please");
+        stored.setIdempotencyKey("stored-key");
+        when(orderRepository.findIncludingDeletedBySubmissionIdIn(anyCollection())).thenReturn(List.of());
+        when(orderRepository.findIncludingDeletedByIdempotencyKeyIn(anyCollection())).thenReturn(List.of(stored));
+
+        InquirySubmission retry = new InquirySubmission("sub-1", "Jaha", "jaha@test.com", "logo please",
+                List.of(), LocalDateTime.now(), "stored-key");
+        InquirySubmission reused = new InquirySubmission("sub-2", "Jaha", "jaha@test.com", "website please",
+                List.of(), LocalDateTime.now(), "stored-key");
+        InquirySubmission first = new InquirySubmission("sub-3", "Amani", "amani@test.com", "hi",
+                List.of(), LocalDateTime.now(), "batch-key");
+        InquirySubmission changed = new InquirySubmission("sub-4", "Amani", "amani@test.com", "bye",
+                List.of(), LocalDateTime.now(), "batch-key");
+
+        // same body: answered from the stored order
+        assertEquals(7L, inquiryService.createInquiries(List.of(retry)).get(0).getId());
+        // different body against the stored order, or against the first submission in the group
+        assertThrows(IdempotencyKeyConflictException.class, () -> inquiryService.createInquiries(List.of(reused)));
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> inquiryService.createInquiries(List.of(first, changed)));
+        verify(orderRepository, never()).saveAll(argThat(orders -> ((List<?>) orders).size() > 0));
+    }
+
+    @Test
+    @DisplayName("createInquiry with a known Idempotency-Key returns the stored inquiry")
+    void createInquiry_knownIdempotencyKey_doesNotInsert() {
+        Order earlier = new Order();
+        earlier.setCustomerName("Jaha");
+        earlier.setCustomerEmail("jaha@test.com");
+        earlier.setIdempotencyKey("key-1");
+        when(orderRepository.findIncludingDeletedByIdempotencyKey("key-1")).thenReturn(Optional.of(earlier));
+
+        InquiryRequest request = new InquiryRequest();
+        request.setName("Jaha");
+        request.setEmail("jaha@test.com");
+
+        InquiryResponse result = inquiryService.createInquiry(request, "key-1");
+
+        assertEquals("Jaha", result.getCustomerName());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("createInquiry with a new Idempotency-Key stores the key on the order")
+    void createInquiry_newIdempotencyKey_isSavedOnOrder() {
+        when(orderRepository.findIncludingDeletedByIdempotencyKey("key-2")).thenReturn(Optional.empty());
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InquiryRequest request = new InquiryRequest();
+        request.setName("Jaha");
+        request.setEmail("jaha@test.com");
+        inquiryService.createInquiry(request, "key-2");
+
+        verify(orderRepository).saveAndFlush(argThat(order -> "key-2".equals(order.getIdempotencyKey())));
+    }
+
+    @Test
+    @DisplayName("createInquiry with a stored Idempotency-Key but a different body is a conflict")
+    void createInquiry_storedKeyDifferentBody_conflicts() {
+        Order earlier = new Order();
+        earlier.setCustomerName("Jaha");
+        earlier.setCustomerEmail("jaha@test.com");
+        earlier.setNotes("logo please");
+        earlier.addItem(new OrderItem(product(1L, "Branding", "750.00"), 1, new BigDecimal("750.00")));
+        when(orderRepository.findIncludingDeletedByIdempotencyKey("key-3")).thenReturn(Optional.of(earlier));
+
+        InquiryRequest same = new InquiryRequest();
+        same.setName("Jaha");
+        same.setEmail("jaha@test.com");
+        same.setMessage("logo please");
+        same.setProductId(1L);
+        InquiryRequest different = new InquiryRequest();
+        different.setName("Jaha");
+        different.setEmail("jaha@test.com");
+        different.setMessage("website please");
+        different.setProductId(1L);
+
+        assertEquals("Jaha", inquiryService.createInquiry(same, "key-3").getCustomerName());
+        assertThrows(IdempotencyKeyConflictException.class, () -> inquiryService.createInquiry(different, "key-3"));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("createInquiry that loses an insert race on its Idempotency-Key replays the winner")
+    void createInquiry_duplicateKeyRace_replaysWinner() {
+        Order winner = new Order();
+        ReflectionTestUtils.setField(winner, "id", 41L);
+        winner.setCustomerName("Jaha");
+        winner.setCustomerEmail("jaha@test.com");
+        winner.setIdempotencyKey("key-4");
+        // miss, then the other request's committed order
+        when(orderRepository.findIncludingDeletedByIdempotencyKey("key-4"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'key-4' for key 'idempotency_key'"));
+
+        InquiryRequest request = new InquiryRequest();
+        request.setName("Jaha");
+        request.setEmail("jaha@test.com");
+
+        InquiryResponse result = inquiryService.createInquiry(request, "key-4");
+
+        assertEquals(41L, result.getId());
+        verify(orderRepository, times(2)).findIncludingDeletedByIdempotencyKey("key-4");
+    }
+
     @Test
     @DisplayName("getAllInquiries maps orders to InquiryResponse list")
     void getAllInquiries_returnsMappedDtos() {
@@ -118,7 +344,7 @@ public class InquiryServiceImplTest {
 
         order.setItems(List.of(item));
 
-        when(orderRepository.findAll(any(Sort.class))).thenReturn(List.of(order));
+        when(orderRepository.findAllWithItems(any(Sort.class))).thenReturn(List.of(order));
 
         // ---------- act ----------
         List<InquiryResponse> result = inquiryService.getAllInquiries();
@@ -131,6 +357,93 @@ public class InquiryServiceImplTest {
         assertEquals("Web Design", dto.getItems().get(0).getProductName());
     }
 
+    @Test
+    @DisplayName("getInquiryPage returns a next cursor when more rows exist")
+    void getInquiryPage_firstPage_hasNextCursor() {
+        // arrange: repository hands back limit + 1 ids, meaning there is another page
+        Order newest = new Order();
+        newest.setCustomerName("Newest");
+        newest.setCustomerEmail("newest@example.com");
+        newest.setCreatedAt(LocalDateTime.of(2025, 11, 9, 12, 0));
+
+        when(orderRepository.findNewestIds(Limit.of(2))).thenReturn(List.of(2L, 1L));
+        when(orderRepository.findWithItemsByIdIn(eq(List.of(2L)), any(Sort.class))).thenReturn(List.of(newest));
+
+        // act
+        InquiryPageResponse page = inquiryService.getInquiryPage(null, 1);
+
+        // assert: only the requested row comes back, plus a cursor for the next call
+        assertEquals(1, page.getItems().size());
+        assertEquals("Newest", page.getItems().get(0).getCustomerName());
+        assertNotNull(page.getNextCursor());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    @DisplayName("getInquiryPage clamps the page size and ends with a null cursor")
+    void getInquiryPage_lastPage_clampsLimit() {
+        // arrange
+        Order only = new Order();
+        only.setCustomerName("Only");
+        only.setCustomerEmail("only@example.com");
+        only.setCreatedAt(LocalDateTime.now());
+
+        when(orderRepository.findNewestIds(Limit.of(InquiryService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(1L));
+        when(orderRepository.findWithItemsByIdIn(eq(List.of(1L)), any(Sort.class))).thenReturn(List.of(only));
+
+        // act
+        InquiryPageResponse page = inquiryService.getInquiryPage(null, 10_000);
+
+        // assert
+        assertEquals(InquiryService.MAX_PAGE_SIZE, page.getLimit());
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getInquiryPage seeks past the cursor position")
+    void getInquiryPage_withCursor_usesKeysetQuery() {
+        // arrange: a cursor pointing at (2025-11-09T12:00, id 42)
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 9, 12, 0);
+        String cursor = new InquiryCursor(createdAt, 42L).encode();
+        when(orderRepository.findIdsOlderThan(createdAt, 42L, Limit.of(21))).thenReturn(List.of());
+
+        // act
+        InquiryPageResponse page = inquiryService.getInquiryPage(cursor, 20);
+
+        // assert
+        verify(orderRepository).findIdsOlderThan(createdAt, 42L, Limit.of(21));
+        // nothing to load, so the second (items) query is skipped entirely
+        verify(orderRepository, never()).findWithItemsByIdIn(any(), any(Sort.class));
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getInquiryPage with filters uses the filtered keyset query")
+    void getInquiryPage_withFilter_usesFilteredQuery() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 9, 12, 0);
+        String cursor = new InquiryCursor(createdAt, 42L).encode();
+        OrderFilter filter = new OrderFilter(OrderStatus.NEW, null, null, null, null);
+        when(orderRepository.findFilteredIds(filter, createdAt, 42L, Limit.of(21))).thenReturn(List.of());
+
+        InquiryPageResponse page = inquiryService.getInquiryPage(cursor, 20, filter);
+
+        assertTrue(page.getItems().isEmpty());
+        verify(orderRepository).findFilteredIds(filter, createdAt, 42L, Limit.of(21));
+        verify(orderRepository, never()).findIdsOlderThan(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getInquiryPage rejects a malformed cursor")
+    void getInquiryPage_throwsOnBadCursor() {
+        assertThrows(
+                InvalidRequestException.class,
+                () -> inquiryService.getInquiryPage("not-a-cursor", 20)
+        );
+    }
+
     @Test
     @DisplayName("getInquiryById returns mapped DTO when order exists")
     void getInquiryById_returnsDto() {
@@ -150,7 +463,7 @@ public class InquiryServiceImplTest {
 
         order.setItems(List.of(item));
 
-        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(10L)).thenReturn(Optional.of(order));
 
         // act
         Optional<InquiryResponse> result = inquiryService.getInquiryById(10L);
@@ -162,23 +475,117 @@ public class InquiryServiceImplTest {
     }
 
     @Test
-    @DisplayName("deleteInquiry deletes when id exists")
+    @DisplayName("searchInquiries loads only the page's orders and keeps rank order")
+    void searchInquiries_loadsPageInRankOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        searchIndex.put(new InquirySearchIndex.Document(1L, now, "Nia Brown", "nia@example.com", null, List.of()));
+        searchIndex.put(new InquirySearchIndex.Document(2L, now, "Nia", "nia.b@example.com", "nia again", List.of()));
+        // indexed but already gone from the table
+        searchIndex.put(new InquirySearchIndex.Document(3L, now.minusDays(1), "Nia", "x@example.com", null, List.of()));
+
+        Order first = new Order();
+        ReflectionTestUtils.setField(first, "id", 1L);
+        Order second = new Order();
+        ReflectionTestUtils.setField(second, "id", 2L);
+        // the repository returns them in whatever order it likes
+        when(orderRepository.findWithItemsByIdIn(eq(List.of(2L, 1L, 3L)), any(Sort.class)))
+                .thenReturn(List.of(first, second));
+
+        InquirySearchResponse result = inquiryService.searchInquiries("nia", 0, 500);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(InquiryService.MAX_PAGE_SIZE, result.getSize());
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(InquiryResponse::getId).toList());
+        verify(orderRepository, times(1)).findWithItemsByIdIn(anyCollection(), any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("searchInquiries does not touch the database when nothing matches")
+    void searchInquiries_noHits_noQuery() {
+        InquirySearchResponse result = inquiryService.searchInquiries("nobody", 0, 20);
+
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getItems().isEmpty());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("changeStatus is one UPDATE and no read when every id moves")
+    void changeStatus_allUpdated_singleStatement() {
+        when(orderRepository.transitionStatus(anyCollection(), eq(OrderStatus.NEW), eq(OrderStatus.IN_PROGRESS),
+                any(LocalDateTime.class))).thenReturn(3);
+
+        StatusChangeResponse result = inquiryService.changeStatus(List.of(1L, 2L, 3L, 2L),
+                OrderStatus.NEW, OrderStatus.IN_PROGRESS);
+
+        assertEquals(3, result.getUpdated());
+        assertEquals(List.of(1L, 2L, 3L), result.getResults().stream().map(StatusChangeResponse.Result::getId).toList());
+        assertTrue(result.getResults().stream()
+                .allMatch(r -> r.getOutcome() == StatusChangeResponse.Outcome.UPDATED
+                        && r.getStatus() == OrderStatus.IN_PROGRESS));
+        verify(orderRepository, times(1)).transitionStatus(anyCollection(), any(), any(), any());
+        verify(orderRepository, never()).findStatusByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("changeStatus explains the ids it didn't move with one follow-up read")
+    void changeStatus_partial_classifiesEachId() {
+        AtomicReference<LocalDateTime> stamp = new AtomicReference<>();
+        when(orderRepository.transitionStatus(anyCollection(), eq(OrderStatus.NEW), eq(OrderStatus.CLOSED),
+                any(LocalDateTime.class))).thenAnswer(invocation -> {
+                    stamp.set(invocation.getArgument(3));
+                    return 1;
+                });
+        when(orderRepository.findStatusByIdIn(anyCollection())).thenAnswer(invocation -> List.of(
+                statusRow(1L, OrderStatus.CLOSED, stamp.get()),
+                statusRow(2L, OrderStatus.CLOSED, stamp.get().minusMinutes(5)),
+                statusRow(3L, OrderStatus.IN_PROGRESS, null)));
+
+        StatusChangeResponse result = inquiryService.changeStatus(List.of(1L, 2L, 3L, 4L),
+                OrderStatus.NEW, OrderStatus.CLOSED);
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(StatusChangeResponse.Outcome.UPDATED, StatusChangeResponse.Outcome.UNCHANGED,
+                        StatusChangeResponse.Outcome.CONFLICT, StatusChangeResponse.Outcome.NOT_FOUND),
+                result.getResults().stream().map(StatusChangeResponse.Result::getOutcome).toList());
+        assertEquals(OrderStatus.IN_PROGRESS, result.getResults().get(2).getStatus());
+        assertNull(result.getResults().get(3).getStatus());
+        verify(orderRepository, times(1)).findStatusByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("changeStatus rejects a move the workflow doesn't allow, before touching the database")
+    void changeStatus_invalidTransition_throws() {
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> inquiryService.changeStatus(List.of(1L), OrderStatus.CLOSED, OrderStatus.NEW));
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> inquiryService.changeStatus(List.of(1L), OrderStatus.NEW, OrderStatus.NEW));
+        assertThrows(InvalidRequestException.class,
+                () -> inquiryService.changeStatus(List.of(), OrderStatus.NEW, OrderStatus.CLOSED));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("deleteInquiry deletes items then the order without loading it")
     void deleteInquiry_deletesWhenExists() {
         // arrange
-        when(orderRepository.existsById(5L)).thenReturn(true);
+        when(orderRepository.deleteRowsByIdIn(List.of(5L))).thenReturn(1);
 
         // act
         inquiryService.deleteInquiry(5L);
 
         // assert
-        verify(orderRepository).deleteById(5L);
+        verify(orderRepository).deleteItemsByOrderIdIn(List.of(5L));
+        verify(orderRepository).deleteRowsByIdIn(List.of(5L));
+        verify(orderRepository, never()).existsById(any());
+        verify(orderRepository, never()).deleteById(any());
     }
 
     @Test
     @DisplayName("deleteInquiry throws when id does not exist")
     void deleteInquiry_throwsWhenMissing() {
         // arrange
-        when(orderRepository.existsById(999L)).thenReturn(false);
+        when(orderRepository.deleteRowsByIdIn(List.of(999L))).thenReturn(0);
 
         // act + assert
         IllegalArgumentException ex = assertThrows(
@@ -188,12 +595,45 @@ public class InquiryServiceImplTest {
         assertTrue(ex.getMessage().contains("not found"));
     }
 
+    @Test
+    @DisplayName("deleteInquiries hard-deletes the whole id list set-based and drops it from search")
+    void deleteInquiries_hard_setBased() {
+        searchIndex.put(new InquirySearchIndex.Document(1L, LocalDateTime.now(), "Spam Bot", "spam@example.com",
+                null, List.of()));
+        when(orderRepository.deleteRowsByIdIn(anyCollection())).thenReturn(2);
+
+        InquiryDeleteResponse result = inquiryService.deleteInquiries(List.of(1L, 2L, 1L, 3L));
+
+        assertEquals(2, result.getDeleted());
+        assertFalse(result.isSoft());
+        verify(orderRepository, times(1)).deleteItemsByOrderIdIn(anyCollection());
+        verify(orderRepository, times(1)).deleteRowsByIdIn(anyCollection());
+        verify(orderRepository, never()).softDeleteByIdIn(anyCollection(), any());
+        assertEquals(0, searchIndex.search("spam", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("deleteInquiries in soft mode only tombstones, in one statement")
+    void deleteInquiries_soft_singleUpdate() {
+        InquiryServiceImpl softService =
+                new InquiryServiceImpl(productRepository, orderRepository, searchIndex, transactionManager, true);
+        when(orderRepository.softDeleteByIdIn(anyCollection(), any(LocalDateTime.class))).thenReturn(3);
+
+        InquiryDeleteResponse result = softService.deleteInquiries(List.of(1L, 2L, 3L));
+
+        assertEquals(3, result.getDeleted());
+        assertTrue(result.isSoft());
+        verify(orderRepository, times(1)).softDeleteByIdIn(anyCollection(), any(LocalDateTime.class));
+        verify(orderRepository, never()).deleteRowsByIdIn(anyCollection());
+        assertThrows(InvalidRequestException.class, () -> softService.deleteInquiries(List.of()));
+    }
+
     @Test
     @DisplayName("createInquiry throws when product is not found")
     void createInquiry_throwsWhenProductMissing() {
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of());
 
-        assertThrows(
+        IllegalArgumentException ex = assertThrows(
                 IllegalArgumentException.class,
                 () -> inquiryService.createInquiry(
                         999L,
@@ -202,5 +642,22 @@ public class InquiryServiceImplTest {
                         "please contact me"
                 )
         );
+        assertTrue(ex.getMessage().contains("999"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    private static OrderRepository.StatusRow statusRow(Long id, OrderStatus status, LocalDateTime changedAt) {
+        OrderRepository.StatusRow row = mock(OrderRepository.StatusRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getStatusChangedAt()).thenReturn(changedAt);
+        return row;
+    }
+
+    // products loaded from the database always carry an id; there is no setter for it
+    private static Product product(Long id, String name, String basePrice) {
+        Product product = new Product(name, name + " package", new BigDecimal(basePrice));
+        ReflectionTestUtils.setField(product, "id", id);
+        return product;
     }
 }
@@ -0,0 +1,133 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryDeleteResponse;
+import com.heshima.heshima_studio.controller.dto.InquiryItemRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryRequest;
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.entity.Product;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import com.heshima.heshima_studio.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Soft delete and the chunked purge against the real app on its own H2 database,
+ * with heshima.inquiry.soft-delete on and a purge chunk size of 2.
+ *
+ * - Deleted inquiries keep their rows but disappear from reads, search and
+ *   status changes. They keep their Idempotency-Key and submission id, so a retry
+ *   or journal replay gets the deleted inquiry back instead of recreating it.
+ * - InquiryPurger then removes the rows and their items for good, over several
+ *   chunks, which also releases the keys.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:softdelete;DB_CLOSE_DELAY=-1",
+        "heshima.inquiry.soft-delete=true",
+        "heshima.inquiry.purge.chunk-size=2"
+})
+class InquirySoftDeleteIntegrationTest {
+
+    private static final String COUNT_ROWS = "SELECT COUNT(*) FROM orders WHERE id IN (%s)";
+    private static final String COUNT_ITEMS = "SELECT COUNT(*) FROM order_items WHERE order_id IN (%s)";
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private InquiryPurger purger;
+
+    @Autowired
+    private InquirySearchIndex searchIndex;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("soft-deleted inquiries are hidden everywhere until the purge removes their rows")
+    void softDeleteThenPurge() {
+        Product product = productRepository.save(new Product("Tombstone Kit", "soft delete", new BigDecimal("15.00")));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(inquiryService.createInquiry("Spammer " + i, "spam" + i + "@example.com", "buy followers",
+                    List.of(new InquiryItemRequest(product.getId(), 1))).getId());
+        }
+        String idList = String.join(",", ids.stream().map(String::valueOf).toList());
+
+        InquiryDeleteResponse deleted = inquiryService.deleteInquiries(ids);
+
+        assertThat(deleted.getDeleted()).isEqualTo(5);
+        assertThat(deleted.isSoft()).isTrue();
+        assertThat(inquiryService.getInquiryById(ids.get(0))).isEmpty();
+        assertThat(orderRepository.findAllById(ids)).isEmpty();
+        assertThat(inquiryService.getAllInquiries()).extracting(InquiryResponse::getId).doesNotContainAnyElementsOf(ids);
+        assertThat(searchIndex.search("followers", 0, 10).getTotal()).isZero();
+        assertThat(inquiryService.changeStatus(ids, OrderStatus.NEW, OrderStatus.CLOSED).getResults())
+                .extracting(StatusChangeResponse.Result::getOutcome)
+                .containsOnly(StatusChangeResponse.Outcome.NOT_FOUND);
+        assertThatThrownBy(() -> inquiryService.deleteInquiry(ids.get(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        // still in the database until purged
+        assertThat(jdbcTemplate.queryForObject(COUNT_ROWS.formatted(idList), Integer.class)).isEqualTo(5);
+
+        int purged = purger.purgeDeleted();
+
+        assertThat(purged).isGreaterThanOrEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(COUNT_ROWS.formatted(idList), Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(COUNT_ITEMS.formatted(idList), Integer.class)).isZero();
+        assertThat(purger.purgeDeleted()).isZero();
+    }
+
+    @Test
+    @DisplayName("retries and journal replays of a soft-deleted inquiry replay the tombstone instead of recreating it")
+    void softDelete_keepsDedupeKeys() {
+        InquiryResponse first = inquiryService.createInquiry(request("first"), "soft-delete-key");
+        InquirySubmission queued = new InquirySubmission("soft-delete-submission", "Queued Spammer",
+                "queued@example.com", "buy likes", List.of(), LocalDateTime.now());
+        Long queuedId = inquiryService.createInquiries(List.of(queued)).get(0).getId();
+        String countLive = "SELECT COUNT(*) FROM orders WHERE deleted_at IS NULL AND customer_email IN (?, ?)";
+
+        inquiryService.deleteInquiries(List.of(first.getId(), queuedId));
+
+        // a client retry with the same key and body, and a journal replay after a lost DONE record
+        assertThat(inquiryService.createInquiry(request("first"), "soft-delete-key").getId()).isEqualTo(first.getId());
+        assertThat(inquiryService.createInquiries(List.of(queued)).get(0).getId()).isEqualTo(queuedId);
+        assertThat(jdbcTemplate.queryForObject(countLive, Integer.class, "key@example.com", "queued@example.com"))
+                .isZero();
+        // the key still belongs to the deleted inquiry
+        assertThatThrownBy(() -> inquiryService.createInquiry(request("second"), "soft-delete-key"))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+
+        // purging the tombstone releases the key
+        purger.purgeDeleted();
+        InquiryResponse second = inquiryService.createInquiry(request("second"), "soft-delete-key");
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getNotes()).isEqualTo("second");
+    }
+
+    private static InquiryRequest request(String message) {
+        InquiryRequest request = new InquiryRequest();
+        request.setName("Key Holder");
+        request.setEmail("key@example.com");
+        request.setMessage(message);
+        return request;
+    }
+}
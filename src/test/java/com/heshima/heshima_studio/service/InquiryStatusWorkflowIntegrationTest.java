@@ -0,0 +1,131 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.controller.dto.InquiryResponse;
+import com.heshima.heshima_studio.controller.dto.StatusChangeResponse;
+import com.heshima.heshima_studio.entity.Order;
+import com.heshima.heshima_studio.entity.OrderStatus;
+import com.heshima.heshima_studio.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The status workflow against the real app on H2.
+ *
+ * - A bulk change moves only the rows still in the expected status, bumps their
+ *   version, and reports every other id as UNCHANGED, CONFLICT or NOT_FOUND.
+ * - An entity loaded before a status change can no longer be saved over it
+ *   (@Version on Order).
+ * - The single and bulk PATCH endpoints map outcomes to HTTP statuses and are admin-only.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class InquiryStatusWorkflowIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<Long> created = new ArrayList<>();
+
+    // these commit, so clean up; other tests list the newest orders and expect items on them
+    @AfterEach
+    void deleteCreated() {
+        orderRepository.deleteAllById(created);
+    }
+
+    @Test
+    @DisplayName("bulk change moves matching rows once and reports the rest per id")
+    void bulkChange_reportsPerIdOutcomes() {
+        Long fresh = create("Fresh Lead");
+        Long taken = create("Taken Lead");
+        Long closed = create("Closed Lead");
+        inquiryService.changeStatus(List.of(taken), OrderStatus.NEW, OrderStatus.IN_PROGRESS);
+        inquiryService.changeStatus(List.of(closed), OrderStatus.NEW, OrderStatus.CLOSED);
+        long versionBefore = orderRepository.findById(fresh).orElseThrow().getVersion();
+
+        StatusChangeResponse result = inquiryService.changeStatus(
+                List.of(fresh, taken, closed, 987_654L), OrderStatus.NEW, OrderStatus.IN_PROGRESS);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getResults())
+                .extracting(StatusChangeResponse.Result::getOutcome)
+                .containsExactly(StatusChangeResponse.Outcome.UPDATED, StatusChangeResponse.Outcome.UNCHANGED,
+                        StatusChangeResponse.Outcome.CONFLICT, StatusChangeResponse.Outcome.NOT_FOUND);
+        assertThat(result.getResults().get(2).getStatus()).isEqualTo(OrderStatus.CLOSED);
+
+        Order moved = orderRepository.findById(fresh).orElseThrow();
+        assertThat(moved.getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        assertThat(moved.getVersion()).isEqualTo(versionBefore + 1);
+        assertThat(moved.getStatusChangedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("a copy loaded before the status change can't be saved over it")
+    void staleEntity_failsOptimisticLock() {
+        Long id = create("Stale Lead");
+        Order stale = orderRepository.findById(id).orElseThrow();
+
+        inquiryService.changeStatus(List.of(id), OrderStatus.NEW, OrderStatus.CLOSED);
+        stale.setNotes("edited from an old screen");
+
+        assertThatThrownBy(() -> orderRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(orderRepository.findById(id).orElseThrow().getStatus()).isEqualTo(OrderStatus.CLOSED);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("single PATCH answers 200, then 409 once the inquiry has moved, and 404 for unknown ids")
+    void singleEndpoint_mapsOutcomes() throws Exception {
+        Long id = create("Patch Lead");
+        String body = "{\"expectedStatus\":\"NEW\",\"status\":\"IN_PROGRESS\"}";
+
+        mockMvc.perform(patch("/api/inquiries/" + id + "/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"));
+        mockMvc.perform(patch("/api/inquiries/" + id + "/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.results[0].outcome").value("UNCHANGED"));
+        mockMvc.perform(patch("/api/inquiries/987654/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/inquiries/" + id + "/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"expectedStatus\":\"CLOSED\",\"status\":\"NEW\"}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("bulk PATCH is admin-only")
+    void bulkEndpoint_requiresAuth() throws Exception {
+        mockMvc.perform(patch("/api/inquiries/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"expectedStatus\":\"NEW\",\"status\":\"CLOSED\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Long create(String name) {
+        InquiryResponse saved = inquiryService.createInquiry(null, name, "workflow@example.com", "status test");
+        created.add(saved.getId());
+        return saved.getId();
+    }
+}
@@ -0,0 +1,99 @@
+package com.heshima.heshima_studio.service;
+
+import com.heshima.heshima_studio.entity.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductCatalogCache.
+ *
+ * Covers the pieces ProductServiceImplTest doesn't:
+ *  - entries expire after the TTL
+ *  - the by-id map never grows past max-entries (least recently used goes first)
+ *  - invalidate() bumps the catalog version
+ *  - the version tag comes from the content, so separate instances agree on it
+ */
+class ProductCatalogCacheTest {
+
+    @Test
+    @DisplayName("entries older than the TTL are reloaded")
+    void expiredEntries_areReloaded() {
+        // a zero TTL means every entry is already stale
+        ProductCatalogCache cache = new ProductCatalogCache(Duration.ZERO, 16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getActiveCatalog(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        cache.getActiveCatalog(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("by-id lookups are bounded and evict the least recently used entry")
+    void byId_isSizeBounded() {
+        ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(5), 2);
+        AtomicInteger loads = new AtomicInteger();
+        Product product = new Product("Branding", "Brand kit", new BigDecimal("750.00"));
+
+        for (long id : new long[]{1L, 2L, 1L, 3L}) {
+            cache.getProduct(id, key -> {
+                loads.incrementAndGet();
+                return Optional.of(product);
+            });
+        }
+        // 2 was the least recently used when 3 arrived, so it has to load again
+        cache.getProduct(2L, key -> {
+            loads.incrementAndGet();
+            return Optional.of(product);
+        });
+
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate() bumps the version and clears cached lookups")
+    void invalidate_bumpsVersion() {
+        ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(5), 16);
+        long before = cache.getVersion();
+        cache.getProduct(1L, key -> Optional.of(new Product("Branding", "Brand kit", BigDecimal.TEN)));
+
+        cache.invalidate();
+
+        assertEquals(before + 1, cache.getVersion());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("the version tag is derived from content: same catalog, same tag on any instance")
+    void versionTag_isContentDerived() {
+        List<Product> catalog = List.of(new Product("Branding", "Brand kit", new BigDecimal("750.00")),
+                new Product("Web Design", "Marketing site", new BigDecimal("1200.00")));
+        ProductCatalogCache one = new ProductCatalogCache(Duration.ofMinutes(5), 16);
+        ProductCatalogCache other = new ProductCatalogCache(Duration.ofMinutes(5), 16);
+        // another instance, or this one after a restart, with its own counter
+        other.invalidate();
+
+        String tag = one.getVersionTag(() -> catalog);
+
+        assertEquals(tag, other.getVersionTag(() -> catalog));
+        assertEquals(tag, one.getVersionTag(List::of), "a cached catalog keeps its tag until it reloads");
+        assertNotEquals(tag, ProductCatalogCache.contentTag(List.of(
+                new Product("Branding", "Brand kit", new BigDecimal("800.00")), catalog.get(1))));
+    }
+}
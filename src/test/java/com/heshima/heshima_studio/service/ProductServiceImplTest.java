@@ -9,10 +9,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -22,19 +25,22 @@ import static org.mockito.Mockito.when;
  *  - delegates to ProductRepository correctly
  *  - returns only active products via findByIsActiveTrue()
  *  - returns an Optional for lookups by id
+ *  - serves repeat reads from ProductCatalogCache until it is invalidated
  *
  * We mock the repository so the tests do not hit the database.
  */
 public class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
+    private ProductCatalogCache catalogCache;
     private ProductServiceImpl productService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        productService = new ProductServiceImpl(productRepository);
+        catalogCache = new ProductCatalogCache(Duration.ofMinutes(5), 16);
+        productService = new ProductServiceImpl(productRepository, catalogCache);
     }
 
     @Test
@@ -94,4 +100,42 @@ public class ProductServiceImplTest {
         // assert
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    @DisplayName("getAllActiveProducts serves repeat reads from the cache until invalidated")
+    void getAllActiveProducts_isCached() {
+        // arrange
+        Product branding = new Product("Branding", "Brand identity package", new BigDecimal("750.00"));
+        when(productRepository.findByIsActiveTrue()).thenReturn(List.of(branding));
+
+        // act: two reads, an invalidation, then a third read
+        productService.getAllActiveProducts();
+        productService.getAllActiveProducts();
+        catalogCache.invalidate();
+        productService.getAllActiveProducts();
+
+        // assert: the repository is only hit for the first read and after the invalidation
+        verify(productRepository, times(2)).findByIsActiveTrue();
+        assertEquals(1, catalogCache.getHitCount());
+        assertEquals(2, catalogCache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("getProductById caches found products but not missing ones")
+    void getProductById_cachesHitsOnly() {
+        // arrange
+        Product branding = new Product("Branding", "Brand identity package", new BigDecimal("750.00"));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(branding));
+        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // act
+        productService.getProductById(1L);
+        productService.getProductById(1L);
+        productService.getProductById(99L);
+        productService.getProductById(99L);
+
+        // assert
+        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(2)).findById(99L);
+    }
 }